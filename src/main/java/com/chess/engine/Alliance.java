@@ -1,9 +1,8 @@
 package com.chess.engine;
 
+import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
-import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
-import com.chess.engine.player.WhitePlayer;
 
 public enum Alliance {
     WHITE {
@@ -33,8 +32,13 @@ public enum Alliance {
         }
 
         @Override
-        public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) {
-            return whitePlayer;
+        public Alliance getOpposite() {
+            return BLACK;
+        }
+
+        @Override
+        public Player choosePlayer(final Board board) {
+            return board.whitePlayer();
         }
     },
     BLACK {
@@ -64,8 +68,13 @@ public enum Alliance {
         }
 
         @Override
-        public Player choosePlayer(final WhitePlayer whitePlayer, final BlackPlayer blackPlayer) {
-            return blackPlayer;
+        public Alliance getOpposite() {
+            return WHITE;
+        }
+
+        @Override
+        public Player choosePlayer(final Board board) {
+            return board.blackPlayer();
         }
     };
     public abstract int getDirection();
@@ -73,5 +82,6 @@ public enum Alliance {
     public abstract boolean isBlack();
     public abstract boolean isWhite();
     public abstract boolean isPawnPromotionSquare(int position);
-    public abstract Player choosePlayer(WhitePlayer whitePlayer, BlackPlayer blackPlayer);
+    public abstract Alliance getOpposite();
+    public abstract Player choosePlayer(Board board);
 }
@@ -0,0 +1,153 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//the tiles each alliance attacks, with the number of attackers per tile. It follows a position move by move: after a
+//move only the pieces standing on changed tiles and the sliders whose rays run through them are looked at again
+public final class AttackMap {
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    //squares attacked by the piece on each tile, 0 for empty tiles
+    private final long[] attacksFrom;
+    private final byte[] attackCounts;
+    private final long[] attacked;
+    //tiles holding a piece of each alliance and tiles holding a bishop, rook or queen, as last looked at
+    private final long[] attackers;
+    private long sliders;
+
+    private AttackMap() {
+        this.attacksFrom = new long[BoardUtils.NUM_TILES];
+        this.attackCounts = new byte[2 * BoardUtils.NUM_TILES];
+        this.attacked = new long[2];
+        this.attackers = new long[2];
+    }
+
+    private AttackMap(final AttackMap other) {
+        this.attacksFrom = other.attacksFrom.clone();
+        this.attackCounts = other.attackCounts.clone();
+        this.attacked = other.attacked.clone();
+        this.attackers = other.attackers.clone();
+        this.sliders = other.sliders;
+    }
+
+    //pieces indexed like BitBoard.pieceIndex
+    static AttackMap create(final long[] pieces) {
+        final AttackMap attackMap = new AttackMap();
+        attackMap.update(pieces, -1L);
+        return attackMap;
+    }
+
+    AttackMap copy() {
+        return new AttackMap(this);
+    }
+
+    public boolean isAttacked(final int coordinate, final Alliance byAlliance) {
+        return (this.attacked[side(byAlliance)] & BitBoard.squareMask(coordinate)) != 0;
+    }
+
+    public int getAttackCount(final int coordinate, final Alliance byAlliance) {
+        return this.attackCounts[side(byAlliance) * BoardUtils.NUM_TILES + coordinate];
+    }
+
+    public long getAttackedSquares(final Alliance byAlliance) {
+        return this.attacked[side(byAlliance)];
+    }
+
+    //brings the map up to date with pieces after the tiles in changedSquares were emptied, filled or swapped. Works
+    //the same way for taking a move back, and for several moves at once given every tile any of them changed
+    void update(final long[] pieces, final long changedSquares) {
+        long affected = changedSquares & (this.attackers[WHITE] | this.attackers[BLACK]);
+        long sliders = this.sliders & ~changedSquares;
+        while (sliders != 0) {
+            final int coordinate = Long.numberOfTrailingZeros(sliders);
+            sliders &= sliders - 1;
+            if ((this.attacksFrom[coordinate] & changedSquares) != 0) {
+                affected |= BitBoard.squareMask(coordinate);
+            }
+        }
+        long removed = affected;
+        while (removed != 0) {
+            removeAttacks(Long.numberOfTrailingZeros(removed));
+            removed &= removed - 1;
+        }
+
+        long occupancy = 0L;
+        for (final long pieceBitBoard : pieces) {
+            occupancy |= pieceBitBoard;
+        }
+        affected |= changedSquares;
+        for (int piece = 0; piece < pieces.length; piece++) {
+            long added = pieces[piece] & affected;
+            while (added != 0) {
+                addAttacks(Long.numberOfTrailingZeros(added), piece, occupancy);
+                added &= added - 1;
+            }
+        }
+    }
+
+    private void addAttacks(final int coordinate, final int piece, final long occupancy) {
+        final int side = piece / BitBoard.NUM_PIECE_TYPES;
+        final long attacks = calculateAttacks(coordinate, piece, occupancy);
+        final long mask = BitBoard.squareMask(coordinate);
+        this.attacksFrom[coordinate] = attacks;
+        this.attackers[side] |= mask;
+        if (isSlider(piece)) {
+            this.sliders |= mask;
+        }
+        this.attacked[side] |= attacks;
+        long squares = attacks;
+        while (squares != 0) {
+            this.attackCounts[side * BoardUtils.NUM_TILES + Long.numberOfTrailingZeros(squares)]++;
+            squares &= squares - 1;
+        }
+    }
+
+    private void removeAttacks(final int coordinate) {
+        final long mask = BitBoard.squareMask(coordinate);
+        final int side = (this.attackers[WHITE] & mask) != 0 ? WHITE : BLACK;
+        long squares = this.attacksFrom[coordinate];
+        while (squares != 0) {
+            final int square = Long.numberOfTrailingZeros(squares);
+            squares &= squares - 1;
+            if (--this.attackCounts[side * BoardUtils.NUM_TILES + square] == 0) {
+                this.attacked[side] &= ~BitBoard.squareMask(square);
+            }
+        }
+        this.attacksFrom[coordinate] = 0L;
+        this.attackers[side] &= ~mask;
+        this.sliders &= ~mask;
+    }
+
+    private static long calculateAttacks(final int coordinate, final int piece, final long occupancy) {
+        switch (PIECE_TYPES[piece % BitBoard.NUM_PIECE_TYPES]) {
+            case PAWN:
+                return piece < BitBoard.NUM_PIECE_TYPES ? BoardUtils.WHITE_PAWN_ATTACKS[coordinate] :
+                        BoardUtils.BLACK_PAWN_ATTACKS[coordinate];
+            case KNIGHT:
+                return BoardUtils.KNIGHT_ATTACKS[coordinate];
+            case BISHOP:
+                return MagicBitBoards.getBishopAttacks(coordinate, occupancy);
+            case ROOK:
+                return MagicBitBoards.getRookAttacks(coordinate, occupancy);
+            case QUEEN:
+                return MagicBitBoards.getQueenAttacks(coordinate, occupancy);
+            default:
+                return BoardUtils.KING_ATTACKS[coordinate];
+        }
+    }
+
+    private static boolean isSlider(final int piece) {
+        final int pieceType = piece % BitBoard.NUM_PIECE_TYPES;
+        return pieceType == PieceType.BISHOP.ordinal() || pieceType == PieceType.ROOK.ordinal() ||
+                pieceType == PieceType.QUEEN.ordinal();
+    }
+
+    private static int side(final Alliance alliance) {
+        return alliance.isWhite() ? WHITE : BLACK;
+    }
+}
@@ -0,0 +1,124 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+//one 64 bit set per alliance and piece type, bit i is set when tile i holds such a piece
+public final class BitBoard {
+
+    public static final int NUM_PIECE_TYPES = PieceType.values().length;
+
+    private final long[] pieces;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final long occupancy;
+
+    private BitBoard(final long[] pieces) {
+        this.pieces = pieces;
+        long white = 0L;
+        long black = 0L;
+        for(int i = 0; i < NUM_PIECE_TYPES; i++) {
+            white |= pieces[i];
+            black |= pieces[NUM_PIECE_TYPES + i];
+        }
+        this.whiteOccupancy = white;
+        this.blackOccupancy = black;
+        this.occupancy = white | black;
+    }
+
+    static BitBoard create(final Piece[] mailbox) {
+        final long[] pieceBitBoards = new long[2 * NUM_PIECE_TYPES];
+        for(final Piece piece : mailbox) {
+            if(piece == null) {
+                continue;
+            }
+            pieceBitBoards[pieceIndex(piece.getPieceAlliance(), piece.getPieceType())] |= squareMask(piece.getPiecePosition());
+        }
+        return new BitBoard(pieceBitBoards);
+    }
+
+    AttackMap createAttackMap() {
+        return AttackMap.create(this.pieces);
+    }
+
+    //the map of an earlier position brought forward to this one, only the tiles that differ are looked at again
+    AttackMap updateAttackMap(final BitBoard previous, final AttackMap previousAttackMap) {
+        long changedSquares = 0L;
+        for(int i = 0; i < this.pieces.length; i++) {
+            changedSquares |= this.pieces[i] ^ previous.pieces[i];
+        }
+        final AttackMap attackMap = previousAttackMap.copy();
+        attackMap.update(this.pieces, changedSquares);
+        return attackMap;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.pieces);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof BitBoard && Arrays.equals(this.pieces, ((BitBoard) other).pieces);
+    }
+
+    public static int pieceIndex(final Alliance alliance, final PieceType pieceType) {
+        return alliance.isWhite() ? pieceType.ordinal() : NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static long squareMask(final int coordinate) {
+        return 1L << coordinate;
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieces[pieceIndex(alliance, pieceType)];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getOccupancy() {
+        return this.occupancy;
+    }
+
+    public boolean isOccupied(final int coordinate) {
+        return (this.occupancy & squareMask(coordinate)) != 0;
+    }
+
+    public boolean isOccupiedBy(final int coordinate, final Alliance alliance) {
+        return (getOccupancy(alliance) & squareMask(coordinate)) != 0;
+    }
+
+    public boolean isSquareAttacked(final int coordinate, final Alliance byAlliance) {
+        return isSquareAttacked(this.pieces, coordinate, byAlliance.isWhite(), this.occupancy, 0L);
+    }
+
+    //the same question for the position after a move that is not on the board yet: occupancy is the one after the
+    //move and pieces of the attacking side standing on captured tiles are ignored
+    public boolean isSquareAttacked(final int coordinate, final Alliance byAlliance, final long occupancy, final long captured) {
+        return isSquareAttacked(this.pieces, coordinate, byAlliance.isWhite(), occupancy, captured);
+    }
+
+    //looks from the tile outwards with every piece's attack pattern and checks whether it meets such an attacker
+    static boolean isSquareAttacked(final long[] pieces, final int coordinate, final boolean byWhite,
+                                    final long occupancy, final long captured) {
+        final int base = byWhite ? 0 : NUM_PIECE_TYPES;
+        final long remaining = ~captured;
+        //a pawn attacks the tile from wherever a pawn of the other side standing on the tile would attack
+        final long[] pawnAttacks = byWhite ? BoardUtils.BLACK_PAWN_ATTACKS : BoardUtils.WHITE_PAWN_ATTACKS;
+        if ((pawnAttacks[coordinate] & pieces[base + PieceType.PAWN.ordinal()] & remaining) != 0 ||
+                (BoardUtils.KNIGHT_ATTACKS[coordinate] & pieces[base + PieceType.KNIGHT.ordinal()] & remaining) != 0 ||
+                (BoardUtils.KING_ATTACKS[coordinate] & pieces[base + PieceType.KING.ordinal()]) != 0) {
+            return true;
+        }
+        final long queens = pieces[base + PieceType.QUEEN.ordinal()];
+        final long diagonalAttackers = (pieces[base + PieceType.BISHOP.ordinal()] | queens) & remaining;
+        final long straightAttackers = (pieces[base + PieceType.ROOK.ordinal()] | queens) & remaining;
+        return (diagonalAttackers != 0 && (MagicBitBoards.getBishopAttacks(coordinate, occupancy) & diagonalAttackers) != 0) ||
+                (straightAttackers != 0 && (MagicBitBoards.getRookAttacks(coordinate, occupancy) & straightAttackers) != 0);
+    }
+}
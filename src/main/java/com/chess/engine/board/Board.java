@@ -2,6 +2,7 @@ package com.chess.engine.board;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
@@ -12,34 +13,86 @@ import java.util.*;
 
 public class Board {
 
-    private final List<Tile> gameBoard;
+    //the piece on every tile, null when empty. Tiles are handed out from the tile caches instead of being stored
+    private final Piece[] mailbox;
+    private final BitBoard bitBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
 
-    private final WhitePlayer whitePlayer;
-    private final BlackPlayer blackPlayer;
-    private final Player currentPlayer;
-
+    private final Alliance nextMoveMaker;
     private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristKey;
+    //running totals per alliance, carried from board to board by the moves like the key
+    private final int whiteMaterial;
+    private final int blackMaterial;
+    private final int whitePieceSquareScore;
+    private final int blackPieceSquareScore;
+
+    //everything below is derived on first use, many boards in search are only ever evaluated
+    private volatile Collection<Move> whiteStandardLegalMoves;
+    private volatile Collection<Move> blackStandardLegalMoves;
+    private volatile WhitePlayer whitePlayer;
+    private volatile BlackPlayer blackPlayer;
+    private volatile AttackMap attackMap;
+    //the pieces and attack map of the board this one was played from, when that board had its map already. Only
+    //kept until this board's map is derived from them, never the board itself, so a line of boards does not keep the
+    //whole game reachable
+    private volatile BitBoard previousBitBoard;
+    private volatile AttackMap previousAttackMap;
 
     private Board (final Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
+        this.mailbox = builder.boardConfig.clone();
+        this.bitBoard = BitBoard.create(this.mailbox);
+        this.whitePieces = calculateActivePieces(this.mailbox, Alliance.WHITE);
+        this.blackPieces = calculateActivePieces(this.mailbox, Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
+        this.nextMoveMaker = builder.nextMoveMaker;
+        this.castlingRights = calculateCastlingRights(this.mailbox);
+        //moves pass the key updated from the previous board, anything else built from pieces hashes from scratch
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey : calculateZobristKey();
+        final AttackMap previousAttackMap = builder.previousBoard != null ? builder.previousBoard.attackMap : null;
+        if (previousAttackMap != null) {
+            this.previousBitBoard = builder.previousBoard.bitBoard;
+            this.previousAttackMap = previousAttackMap;
+        }
+        if (builder.hasScores) {
+            this.whiteMaterial = builder.whiteMaterial;
+            this.blackMaterial = builder.blackMaterial;
+            this.whitePieceSquareScore = builder.whitePieceSquareScore;
+            this.blackPieceSquareScore = builder.blackPieceSquareScore;
+        } else {
+            this.whiteMaterial = calculateMaterial(this.whitePieces);
+            this.blackMaterial = calculateMaterial(this.blackPieces);
+            this.whitePieceSquareScore = calculatePieceSquareScore(this.whitePieces);
+            this.blackPieceSquareScore = calculatePieceSquareScore(this.blackPieces);
+        }
+    }
 
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.zobristKey);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if(this == other) {
+            return true;
+        }
+        if(!(other instanceof Board)) {
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey && this.nextMoveMaker == otherBoard.nextMoveMaker &&
+                this.castlingRights == otherBoard.castlingRights && this.bitBoard.equals(otherBoard.bitBoard) &&
+                Objects.equals(this.enPassantPawn, otherBoard.enPassantPawn);
     }
 
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for(int i=0; i< BoardUtils.NUM_TILES; i++){
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s", tileText));
             if ((i+1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
                 builder.append("\n");
@@ -49,21 +102,76 @@ public class Board {
     }
 
     public Player whitePlayer() {
-        return this.whitePlayer;
+        WhitePlayer result = this.whitePlayer;
+        if (result == null) {
+            result = new WhitePlayer(this);
+            this.whitePlayer = result;
+        }
+        return result;
     }
 
     public Player blackPlayer() {
-        return this.blackPlayer;
+        BlackPlayer result = this.blackPlayer;
+        if (result == null) {
+            result = new BlackPlayer(this);
+            this.blackPlayer = result;
+        }
+        return result;
     }
 
     public Player currentPlayer() {
-        return this.currentPlayer;
+        return this.nextMoveMaker.choosePlayer(this);
+    }
+
+    //moves of the pieces of one side without castles and without checking whether they expose the king
+    public Collection<Move> getStandardLegalMoves(final Alliance alliance) {
+        Collection<Move> result = alliance.isWhite() ? this.whiteStandardLegalMoves : this.blackStandardLegalMoves;
+        if (result == null) {
+            result = calculateLegalMoves(alliance.isWhite() ? this.whitePieces : this.blackPieces);
+            if (alliance.isWhite()) {
+                this.whiteStandardLegalMoves = result;
+            } else {
+                this.blackStandardLegalMoves = result;
+            }
+        }
+        return result;
+    }
+
+    public boolean isSquareAttacked(final int coordinate, final Alliance byAlliance) {
+        return getAttackMap().isAttacked(coordinate, byAlliance);
+    }
+
+    //brought forward from the previous board's map when that one is already known, built from scratch otherwise
+    public AttackMap getAttackMap() {
+        AttackMap result = this.attackMap;
+        if (result == null) {
+            final BitBoard previousBitBoard = this.previousBitBoard;
+            final AttackMap previousAttackMap = this.previousAttackMap;
+            result = previousBitBoard != null && previousAttackMap != null ?
+                    this.bitBoard.updateAttackMap(previousBitBoard, previousAttackMap) : this.bitBoard.createAttackMap();
+            this.attackMap = result;
+            this.previousBitBoard = null;
+            this.previousAttackMap = null;
+        }
+        return result;
     }
 
     public Pawn getEnPassantPawn() {
         return this.enPassantPawn;
     }
 
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
     public Collection<Piece> getBlackPieces() {
         return this.blackPieces;
     }
@@ -82,31 +190,77 @@ public class Board {
         return ImmutableList.copyOf(legalMoves);
     }
 
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
+    private static Collection<Piece> calculateActivePieces(final Piece[] mailbox, final Alliance alliance) {
 
         final List<Piece> activePieces = new ArrayList<>();
 
-        for(final Tile tile : gameBoard){
-            if(tile.isTileOccupied()) {
-                final Piece piece = tile.getPiece();
-                if(piece.getPieceAlliance() == alliance) {
-                    activePieces.add(piece);
-                }
+        for(final Piece piece : mailbox){
+            if(piece != null && piece.getPieceAlliance() == alliance) {
+                activePieces.add(piece);
             }
         }
         return ImmutableList.copyOf(activePieces);
     }
 
-    public Tile getTile(final int tileCoordinate){
-        return gameBoard.get(tileCoordinate);
+    private static int calculateMaterial(final Collection<Piece> pieces) {
+        int material = 0;
+        for (final Piece piece : pieces) {
+            material += piece.getPieceValue();
+        }
+        return material;
+    }
+
+    private static int calculatePieceSquareScore(final Collection<Piece> pieces) {
+        int score = 0;
+        for (final Piece piece : pieces) {
+            score += PieceSquareTable.score(piece);
+        }
+        return score;
     }
 
-    private static List<Tile> createGameBoard(final Builder builder){
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
-        for (int i=0; i< BoardUtils.NUM_TILES; i++){
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+    private long calculateZobristKey() {
+        long key = this.nextMoveMaker.isWhite() ? 0L : Zobrist.sideKey();
+        for (final Piece piece : Iterables.concat(this.whitePieces, this.blackPieces)) {
+            key ^= Zobrist.pieceKey(piece);
         }
-        return ImmutableList.copyOf(tiles);
+        return key ^ Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantPawn);
+    }
+
+    private static int calculateCastlingRights(final Piece[] mailbox) {
+        int castlingRights = 0;
+        if (isUnmoved(mailbox, 60, PieceType.KING, Alliance.WHITE)) {
+            castlingRights |= isUnmoved(mailbox, 63, PieceType.ROOK, Alliance.WHITE) ? BoardUtils.WHITE_KING_SIDE_CASTLE : 0;
+            castlingRights |= isUnmoved(mailbox, 56, PieceType.ROOK, Alliance.WHITE) ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE : 0;
+        }
+        if (isUnmoved(mailbox, 4, PieceType.KING, Alliance.BLACK)) {
+            castlingRights |= isUnmoved(mailbox, 7, PieceType.ROOK, Alliance.BLACK) ? BoardUtils.BLACK_KING_SIDE_CASTLE : 0;
+            castlingRights |= isUnmoved(mailbox, 0, PieceType.ROOK, Alliance.BLACK) ? BoardUtils.BLACK_QUEEN_SIDE_CASTLE : 0;
+        }
+        return castlingRights;
+    }
+
+    private static boolean isUnmoved(final Piece[] mailbox, final int coordinate, final PieceType pieceType,
+                                     final Alliance alliance) {
+        final Piece piece = mailbox[coordinate];
+        return piece != null && piece.getPieceType() == pieceType && piece.getPieceAlliance() == alliance &&
+                piece.isFirstMove();
+    }
+
+    public int getMaterial(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteMaterial : this.blackMaterial;
+    }
+
+    public int getPieceSquareScore(final Alliance alliance) {
+        return alliance.isWhite() ? this.whitePieceSquareScore : this.blackPieceSquareScore;
+    }
+
+    public Tile getTile(final int tileCoordinate){
+        return Tile.createTile(tileCoordinate, this.mailbox[tileCoordinate]);
+    }
+
+    //the piece on the tile or null, without going through a tile
+    public Piece getPiece(final int tileCoordinate) {
+        return this.mailbox[tileCoordinate];
     }
 
     public static Board createStandardBoard() {
@@ -152,21 +306,30 @@ public class Board {
     }
 
     public Iterable<Move> getAllLegalMoves() {
-        return Iterables.unmodifiableIterable(Iterables.concat(this.whitePlayer.getLegalMoves(), this.blackPlayer.getLegalMoves()));
+        return Iterables.unmodifiableIterable(Iterables.concat(whitePlayer().getLegalMoves(), blackPlayer().getLegalMoves()));
     }
 
     public static class Builder {
 
-        Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        Long zobristKey;
+        Board previousBoard;
+        boolean hasScores;
+        int whiteMaterial;
+        int blackMaterial;
+        int whitePieceSquareScore;
+        int blackPieceSquareScore;
 
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            //boards only hold the shared piece instances, so their tiles come from the tile cache as well
+            this.boardConfig[piece.getPiecePosition()] = PieceUtils.getPiece(piece.getPieceAlliance(),
+                    piece.getPieceType(), piece.getPiecePosition(), piece.isFirstMove());
             return this;
         }
 
@@ -182,5 +345,46 @@ public class Board {
         public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
+
+        public Builder setPreviousBoard(final Board previousBoard) {
+            this.previousBoard = previousBoard;
+            return this;
+        }
+
+        //starts from the totals of the board a move is played on, the move then only reports the pieces it takes
+        //off and puts on. Boards built without it sum up their pieces
+        public Builder setScores(final Board board) {
+            this.hasScores = true;
+            this.whiteMaterial = board.whiteMaterial;
+            this.blackMaterial = board.blackMaterial;
+            this.whitePieceSquareScore = board.whitePieceSquareScore;
+            this.blackPieceSquareScore = board.blackPieceSquareScore;
+            return this;
+        }
+
+        public Builder updateScores(final Piece removedPiece, final Piece addedPiece) {
+            if (removedPiece != null) {
+                addScore(removedPiece, -1);
+            }
+            if (addedPiece != null) {
+                addScore(addedPiece, 1);
+            }
+            return this;
+        }
+
+        private void addScore(final Piece piece, final int sign) {
+            if (piece.getPieceAlliance().isWhite()) {
+                this.whiteMaterial += sign * piece.getPieceValue();
+                this.whitePieceSquareScore += sign * PieceSquareTable.score(piece);
+            } else {
+                this.blackMaterial += sign * piece.getPieceValue();
+                this.blackPieceSquareScore += sign * PieceSquareTable.score(piece);
+            }
+        }
     }
 }
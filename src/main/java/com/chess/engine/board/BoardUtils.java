@@ -19,6 +19,21 @@ public class BoardUtils {
     public static final boolean[] SECOND_RANK = initRow(48);
     public static final boolean[] FIRST_RANK = initRow(56);
 
+    public static final long[] KNIGHT_ATTACKS = initAttacks(new int[][] {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2},
+                                                                         {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    public static final long[] KING_ATTACKS = initAttacks(new int[][] {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1},
+                                                                       {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    public static final long[] WHITE_PAWN_ATTACKS = initAttacks(new int[][] {{-1, -1}, {-1, 1}});
+    public static final long[] BLACK_PAWN_ATTACKS = initAttacks(new int[][] {{1, -1}, {1, 1}});
+
+    //castling rights as a bit set, a right stays while the king and that rook have never moved
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+    //castling rights that survive a move from or to each tile
+    public static final int[] CASTLING_MASKS = initCastlingMasks();
+
     public static final String[] ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
     public static final Map<String, Integer> POSITION_TO_COORDINATE =  initializePositionToCoordinateMap();
 
@@ -43,6 +58,36 @@ public class BoardUtils {
             return row;
     }
 
+    //destination set of a leaper on every tile, offsets are {row, column} steps so nothing wraps around the board edge
+    private static long[] initAttacks(final int[][] offsets) {
+        final long[] attacks = new long[NUM_TILES];
+        for (int i = 0; i < NUM_TILES; i++) {
+            final int row = i / NUM_TILES_PER_ROW;
+            final int column = i % NUM_TILES_PER_ROW;
+            for (final int[] offset : offsets) {
+                final int candidateRow = row + offset[0];
+                final int candidateColumn = column + offset[1];
+                if (candidateRow >= 0 && candidateRow < NUM_TILES_PER_ROW &&
+                        candidateColumn >= 0 && candidateColumn < NUM_TILES_PER_ROW) {
+                    attacks[i] |= BitBoard.squareMask(candidateRow * NUM_TILES_PER_ROW + candidateColumn);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    private static int[] initCastlingMasks() {
+        final int[] masks = new int[64];
+        Arrays.fill(masks, WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE | BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        masks[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        masks[63] &= ~WHITE_KING_SIDE_CASTLE;
+        masks[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        masks[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        masks[7] &= ~BLACK_KING_SIDE_CASTLE;
+        masks[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return masks;
+    }
+
     private static Map<String, Integer> initializePositionToCoordinateMap() {
         final Map<String, Integer> positionToCoordinate = new HashMap<>();
         for (int i = 0; i< NUM_TILES; i++) {
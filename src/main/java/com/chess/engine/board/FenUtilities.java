@@ -0,0 +1,98 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.*;
+
+//positions from Forsyth-Edwards notation, castling rights become the first move flags of kings and rooks
+public final class FenUtilities {
+
+    private FenUtilities() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static Board createGameFromFEN(final String fenString) {
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if (fenPartitions.length < 2) {
+            throw new RuntimeException("Invalid FEN string: " + fenString);
+        }
+        final String castlingRights = fenPartitions.length > 2 ? fenPartitions[2] : "-";
+        final Alliance nextMoveMaker = moveMaker(fenPartitions[1]);
+        final Piece[] pieces = new Piece[BoardUtils.NUM_TILES];
+        final Board.Builder builder = new Board.Builder();
+        int coordinate = 0;
+        for (final char c : fenPartitions[0].toCharArray()) {
+            if (c == '/') {
+                continue;
+            }
+            if (Character.isDigit(c)) {
+                coordinate += c - '0';
+                continue;
+            }
+            if (coordinate >= BoardUtils.NUM_TILES) {
+                throw new RuntimeException("Invalid FEN string: " + fenString);
+            }
+            pieces[coordinate] = createPiece(c, coordinate, castlingRights);
+            builder.setPiece(pieces[coordinate]);
+            coordinate++;
+        }
+        if (coordinate != BoardUtils.NUM_TILES) {
+            throw new RuntimeException("Invalid FEN string: " + fenString);
+        }
+        if (fenPartitions.length > 3 && !fenPartitions[3].equals("-")) {
+            //the notation names the tile behind the pawn that just jumped, the board keeps the pawn itself
+            final int pawnCoordinate = BoardUtils.getCoordinateAtPosition(fenPartitions[3]) +
+                    nextMoveMaker.getOppositeDirection() * BoardUtils.NUM_TILES_PER_ROW;
+            if (pieces[pawnCoordinate] instanceof Pawn) {
+                builder.setEnPassantPawn((Pawn) pieces[pawnCoordinate]);
+            }
+        }
+        builder.setMoveMaker(nextMoveMaker);
+        return builder.build();
+    }
+
+    private static Alliance moveMaker(final String moveMakerString) {
+        if (moveMakerString.equals("w")) {
+            return Alliance.WHITE;
+        } else if (moveMakerString.equals("b")) {
+            return Alliance.BLACK;
+        }
+        throw new RuntimeException("Invalid FEN side to move: " + moveMakerString);
+    }
+
+    private static Piece createPiece(final char pieceChar, final int coordinate, final String castlingRights) {
+        final Alliance alliance = Character.isUpperCase(pieceChar) ? Alliance.WHITE : Alliance.BLACK;
+        switch (Character.toLowerCase(pieceChar)) {
+            case 'p':
+                return new Pawn(alliance, coordinate);
+            case 'n':
+                return new Knight(alliance, coordinate);
+            case 'b':
+                return new Bishop(alliance, coordinate);
+            case 'r':
+                return new Rook(alliance, coordinate, isCastlingRook(coordinate, castlingRights));
+            case 'q':
+                return new Queen(alliance, coordinate);
+            case 'k':
+                return new King(alliance, coordinate, alliance.isWhite() ?
+                        castlingRights.contains("K") || castlingRights.contains("Q") :
+                        castlingRights.contains("k") || castlingRights.contains("q"));
+            default:
+                throw new RuntimeException("Invalid FEN piece: " + pieceChar);
+        }
+    }
+
+    private static boolean isCastlingRook(final int coordinate, final String castlingRights) {
+        switch (coordinate) {
+            case 63:
+                return castlingRights.contains("K");
+            case 56:
+                return castlingRights.contains("Q");
+            case 7:
+                return castlingRights.contains("k");
+            case 0:
+                return castlingRights.contains("q");
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.chess.engine.board;
+
+import static com.chess.engine.board.BoardUtils.NUM_TILES;
+import static com.chess.engine.board.BoardUtils.NUM_TILES_PER_ROW;
+
+//sliding attacks by lookup: the blockers on a ray mask are multiplied by a per tile magic number and the top bits
+//of the product index a table holding the attack set for that blocker configuration
+public final class MagicBitBoards {
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {0, -1}, {0, 1}, {1, 0}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    //found by the search in SlidingTable, stored so startup only has to fill and verify the tables
+    private static final long[] ROOK_MAGICS = {
+            0x0280042080104000L, 0x0040001000200048L, 0x0680100009802000L, 0x0100040A10002100L,
+            0x5200080200201005L, 0x0200100804010200L, 0x0400100082010804L, 0x8100048220570002L,
+            0x0014800240008561L, 0x0000401000200040L, 0x0510808020001000L, 0x0401000810002104L,
+            0x1420800400800800L, 0x0C22000200041008L, 0x010C805200800100L, 0x0102002400805502L,
+            0x4101010020408001L, 0x7040002020081000L, 0x0201010010200040L, 0x1080818010004800L,
+            0x0000110008010004L, 0xA401010002040008L, 0x1000040081100842L, 0xE480AA0000A04104L,
+            0x0000400080008020L, 0x0010200040005008L, 0x8808401200220080L, 0x000200420009A191L,
+            0x0001000500100800L, 0x0802000200100408L, 0x8000901400414268L, 0x001004020004B145L,
+            0x0080002002400048L, 0x0082004082002900L, 0x6820010441001024L, 0x0081002009001001L,
+            0x440600048A001060L, 0x1402010802000410L, 0x8004481A04000910L, 0x9000140082000741L,
+            0x0080004020004000L, 0x0000200040008080L, 0x0010008020008013L, 0x4880210010010008L,
+            0x5000080004008080L, 0x0182000400808002L, 0x0004010208040010L, 0x100C040040820001L,
+            0x0000802042110A00L, 0x0201804002200480L, 0x0400100080200280L, 0x0800100008008080L,
+            0x0004018008010480L, 0x802400808E001480L, 0x8030B01A08050400L, 0x8191000A00904100L,
+            0x1081850044209202L, 0x0000110040002081L, 0x8020200188914101L, 0x201C207001000825L,
+            0x080A001004082002L, 0x0801000284000841L, 0x42140A0130081084L, 0x1100010020840042L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0420600202004010L, 0x0003041404024001L, 0x2088081040800000L, 0x0044050601030600L,
+            0x0801104101800200L, 0x0203011840820202L, 0x00C2010120104004L, 0x0081082090080840L,
+            0x1008301041080680L, 0x1201220A08420088L, 0x0180080800488008L, 0x2900184849000820L,
+            0x0100840420030000L, 0x41080201108A0000L, 0x0040008404200708L, 0x001C1C2402088404L,
+            0x2020014308011101L, 0x0020009001820080L, 0x0108004042002022L, 0x004084080204401AL,
+            0x024B005490400820L, 0x000E010020842020L, 0x0888810042101080L, 0x0001008080882186L,
+            0x002004000A080850L, 0x0004140020110420L, 0x1202010008044408L, 0x0104010100200880L,
+            0x0001001021004000L, 0x0002008048080100L, 0xB088008401049880L, 0x00104A0108460202L,
+            0x8002092000404220L, 0x0484100703340454L, 0x00420A2200640804L, 0x0004202020180080L,
+            0x0504200200822080L, 0x1064040020041000L, 0x804E0214204E0080L, 0x8004004203008090L,
+            0x0884040240000800L, 0x4002680608103000L, 0x0100082088001000L, 0x3201404010404204L,
+            0xC109404102100100L, 0x21C00104C1040980L, 0x10100200A4010124L, 0x0028088420420480L,
+            0x4010A80430048010L, 0x0000404404A02040L, 0x4002018400A80100L, 0x0880040020881A03L,
+            0x1014100405040802L, 0x0446041002021408L, 0x4010023044088000L, 0x1012044842810080L,
+            0x0042050400842416L, 0x0810005400880884L, 0x40202100228C1000L, 0x2008000204420200L,
+            0x0000000860204918L, 0x0208189022100510L, 0xD130402801241088L, 0x8810100080840441L
+    };
+
+    private static final long MAGIC_SEED = 0x5EED_CAFEL;
+
+    private static final SlidingTable ROOK_TABLE = new SlidingTable(ROOK_DIRECTIONS, ROOK_MAGICS, MAGIC_SEED);
+    private static final SlidingTable BISHOP_TABLE = new SlidingTable(BISHOP_DIRECTIONS, BISHOP_MAGICS, MAGIC_SEED + 1);
+
+    private MagicBitBoards() {
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static long getRookAttacks(final int coordinate, final long occupancy) {
+        return ROOK_TABLE.getAttacks(coordinate, occupancy);
+    }
+
+    public static long getBishopAttacks(final int coordinate, final long occupancy) {
+        return BISHOP_TABLE.getAttacks(coordinate, occupancy);
+    }
+
+    public static long getQueenAttacks(final int coordinate, final long occupancy) {
+        return ROOK_TABLE.getAttacks(coordinate, occupancy) | BISHOP_TABLE.getAttacks(coordinate, occupancy);
+    }
+
+    //reference implementation walking each ray until it leaves the board or hits a blocker
+    static long calculateRayAttacks(final int coordinate, final long occupancy, final int[][] directions) {
+        long attacks = 0L;
+        for (final int[] direction : directions) {
+            int row = coordinate / NUM_TILES_PER_ROW + direction[0];
+            int column = coordinate % NUM_TILES_PER_ROW + direction[1];
+            while (row >= 0 && row < NUM_TILES_PER_ROW && column >= 0 && column < NUM_TILES_PER_ROW) {
+                final long square = BitBoard.squareMask(row * NUM_TILES_PER_ROW + column);
+                attacks |= square;
+                if ((occupancy & square) != 0) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    //squares whose occupancy can change the attack set, the last square of every ray never blocks anything
+    private static long calculateRelevantMask(final int coordinate, final int[][] directions) {
+        long mask = 0L;
+        for (final int[] direction : directions) {
+            int row = coordinate / NUM_TILES_PER_ROW + direction[0];
+            int column = coordinate % NUM_TILES_PER_ROW + direction[1];
+            while (row + direction[0] >= 0 && row + direction[0] < NUM_TILES_PER_ROW &&
+                    column + direction[1] >= 0 && column + direction[1] < NUM_TILES_PER_ROW) {
+                mask |= BitBoard.squareMask(row * NUM_TILES_PER_ROW + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static final class SlidingTable {
+
+        private final long[] masks = new long[NUM_TILES];
+        private final long[] magics = new long[NUM_TILES];
+        private final int[] shifts = new int[NUM_TILES];
+        private final long[][] attacks = new long[NUM_TILES][];
+        private long seed;
+
+        SlidingTable(final int[][] directions, final long[] knownMagics, final long seed) {
+            this.seed = seed;
+            for (int i = 0; i < NUM_TILES; i++) {
+                initSquare(i, directions, knownMagics[i]);
+            }
+            verify(directions);
+        }
+
+        long getAttacks(final int coordinate, final long occupancy) {
+            final long blockers = occupancy & this.masks[coordinate];
+            return this.attacks[coordinate][(int) ((blockers * this.magics[coordinate]) >>> this.shifts[coordinate])];
+        }
+
+        private void initSquare(final int coordinate, final int[][] directions, final long knownMagic) {
+            final long mask = calculateRelevantMask(coordinate, directions);
+            final int bits = Long.bitCount(mask);
+            final int size = 1 << bits;
+            final long[] occupancies = new long[size];
+            final long[] references = new long[size];
+
+            //carry rippler trick enumerates every subset of the mask
+            long subset = 0L;
+            for (int i = 0; i < size; i++) {
+                occupancies[i] = subset;
+                references[i] = calculateRayAttacks(coordinate, subset, directions);
+                subset = (subset - mask) & mask;
+            }
+
+            final long[] table = new long[size];
+            final int[] epochs = new int[size];
+            int epoch = 0;
+            long magic = knownMagic;
+            while (true) {
+                if (epoch > 0) {
+                    //the stored magic collided, fall back to searching sparse random candidates
+                    magic = nextRandom() & nextRandom() & nextRandom();
+                    if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) {
+                        continue;
+                    }
+                }
+                epoch++;
+                boolean collision = false;
+                for (int i = 0; i < size && !collision; i++) {
+                    final int index = (int) ((occupancies[i] * magic) >>> (64 - bits));
+                    if (epochs[index] != epoch) {
+                        epochs[index] = epoch;
+                        table[index] = references[i];
+                    } else if (table[index] != references[i]) {
+                        collision = true;
+                    }
+                }
+                if (!collision) {
+                    this.masks[coordinate] = mask;
+                    this.magics[coordinate] = magic;
+                    this.shifts[coordinate] = 64 - bits;
+                    this.attacks[coordinate] = table;
+                    return;
+                }
+            }
+        }
+
+        //xorshift64*, candidate magics only need to be sparse and cheap to draw
+        private long nextRandom() {
+            this.seed ^= this.seed >>> 12;
+            this.seed ^= this.seed << 25;
+            this.seed ^= this.seed >>> 27;
+            return this.seed * 2685821657736338717L;
+        }
+
+        private void verify(final int[][] directions) {
+            for (int i = 0; i < NUM_TILES; i++) {
+                final long mask = this.masks[i];
+                long subset = 0L;
+                do {
+                    if (getAttacks(i, subset) != calculateRayAttacks(i, subset, directions)) {
+                        throw new RuntimeException("Magic bitboard verification failed on tile " +
+                                BoardUtils.getPositionAtCoordinate(i));
+                    }
+                    subset = (subset - mask) & mask;
+                } while (subset != 0);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.chess.engine.board;
 
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceUtils;
 import com.chess.engine.pieces.Rook;
 
 import static com.chess.engine.board.Board.Builder;
@@ -93,11 +94,27 @@ public abstract class Move {
         }
         //here we gonna move the piece in the new board and all other pieces are gonna remain same and
         // then note that its the turn of the next player
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Piece pieceMoved = this.movedPiece.movePiece(this);
+        builder.setPiece(pieceMoved);
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setPreviousBoard(this.board);
+        builder.setZobristKey(calculateZobristKey(Zobrist.pieceKey(this.movedPiece) ^ Zobrist.pieceKey(pieceMoved) ^
+                Zobrist.pieceKey(getAttackedPiece()), null));
+        builder.setScores(this.board).updateScores(this.movedPiece, pieceMoved).updateScores(getAttackedPiece(), null);
 
         return builder.build();
     }
+
+    //key of the board after this move from the key of the current one, pieceKeys holds the keys of every piece
+    //that was taken off or put on a tile
+    protected long calculateZobristKey(final long pieceKeys, final Pawn enPassantPawn) {
+        final int castlingRights = this.board.getCastlingRights();
+        final int newCastlingRights = castlingRights & BoardUtils.CASTLING_MASKS[getCurrentCoordinate()] &
+                BoardUtils.CASTLING_MASKS[this.destinationCoordinate];
+        return this.board.getZobristKey() ^ pieceKeys ^ Zobrist.sideKey() ^
+                Zobrist.castlingKey(castlingRights) ^ Zobrist.castlingKey(newCastlingRights) ^
+                Zobrist.enPassantKey(this.board.getEnPassantPawn()) ^ Zobrist.enPassantKey(enPassantPawn);
+    }
     public static final class MajorAttackMove extends AttackMove{
 
         public MajorAttackMove(final Board board, final Piece movedPiece, final int destinationCoordinate, final Piece pieceAttacked) {
@@ -210,8 +227,13 @@ public abstract class Move {
                     builder.setPiece(piece);
                 }
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece pieceMoved = this.movedPiece.movePiece(this);
+            builder.setPiece(pieceMoved);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPreviousBoard(this.board);
+            builder.setZobristKey(calculateZobristKey(Zobrist.pieceKey(this.movedPiece) ^ Zobrist.pieceKey(pieceMoved) ^
+                    Zobrist.pieceKey(getAttackedPiece()), null));
+            builder.setScores(this.board).updateScores(this.movedPiece, pieceMoved).updateScores(getAttackedPiece(), null);
             return builder.build();
         }
     }
@@ -245,8 +267,15 @@ public abstract class Move {
             for (final Piece piece : pawnMovedBoard.currentPlayer().getOpponent().getActivePieces()) {
                 builder.setPiece(piece);
             }
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+            final Piece promotionPiece = this.promotedPawn.getPromotionPiece().movePiece(this);
+            builder.setPiece(promotionPiece);
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setPreviousBoard(this.board);
+            //the decorated move already did the rest of the key, only the pawn turns into its promotion piece
+            builder.setZobristKey(pawnMovedBoard.getZobristKey() ^
+                    Zobrist.pieceKey(pawnMovedBoard.getPiece(this.destinationCoordinate)) ^
+                    Zobrist.pieceKey(promotionPiece));
+            builder.setScores(pawnMovedBoard).updateScores(pawnMovedBoard.getPiece(this.destinationCoordinate), promotionPiece);
             return builder.build();
         }
 
@@ -286,6 +315,9 @@ public abstract class Move {
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPreviousBoard(this.board);
+            builder.setZobristKey(calculateZobristKey(Zobrist.pieceKey(this.movedPiece) ^ Zobrist.pieceKey(movedPawn), movedPawn));
+            builder.setScores(this.board).updateScores(this.movedPiece, movedPawn);
             return builder.build();
 
         }
@@ -329,9 +361,15 @@ public abstract class Move {
             for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()) {
                 builder.setPiece(piece);
             }
-            builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false));
+            final Piece pieceMoved = this.movedPiece.movePiece(this);
+            final Rook rookMoved = PieceUtils.getRook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false);
+            builder.setPiece(pieceMoved);
+            builder.setPiece(rookMoved);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPreviousBoard(this.board);
+            builder.setZobristKey(calculateZobristKey(Zobrist.pieceKey(this.movedPiece) ^ Zobrist.pieceKey(pieceMoved) ^
+                    Zobrist.pieceKey(this.castleRook) ^ Zobrist.pieceKey(rookMoved), null));
+            builder.setScores(this.board).updateScores(this.movedPiece, pieceMoved).updateScores(this.castleRook, rookMoved);
             return builder.build();
         }
 
@@ -402,14 +440,15 @@ public abstract class Move {
         private MoveFactory() {
             throw new RuntimeException("Not instantiable");
         }
+        //looks through the moves of both players like getAllLegalMoves did, the player to move first
         public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate){
-            for(final Move move : board.getAllLegalMoves()) {
-                if(move.getCurrentCoordinate() == currentCoordinate &&
-                move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
+            final Move move = board.currentPlayer().getMoveIndex().getMove(currentCoordinate, destinationCoordinate);
+            if(move != null) {
+                return move;
             }
-            return NULL_MOVE;
+            final Move opponentMove = board.currentPlayer().getOpponent().getMoveIndex()
+                    .getMove(currentCoordinate, destinationCoordinate);
+            return opponentMove != null ? opponentMove : NULL_MOVE;
         }
     }
 }
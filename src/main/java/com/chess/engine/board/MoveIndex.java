@@ -0,0 +1,58 @@
+package com.chess.engine.board;
+
+import java.util.Collection;
+
+//the legal moves of one player by origin and destination tile, and the tiles each origin can move to. Pawns only
+//ever promote to queens, so origin and destination are enough to tell every move apart. Built for every position
+//searched, so the moves sit in an open addressed table sized to the move count rather than one slot per tile pair
+public final class MoveIndex {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final Move[] moves;
+    private final int shift;
+    private final long[] destinations;
+
+    public MoveIndex(final Collection<Move> legalMoves) {
+        //at most half full so probes stay short
+        final int capacity = Math.max(Integer.highestOneBit(Math.max(legalMoves.size(), 1) * 4 - 1), MIN_CAPACITY);
+        this.moves = new Move[capacity];
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        this.destinations = new long[BoardUtils.NUM_TILES];
+        for(final Move move : legalMoves) {
+            final int currentCoordinate = move.getCurrentCoordinate();
+            final int destinationCoordinate = move.getDestinationCoordinate();
+            int slot = slot(currentCoordinate, destinationCoordinate);
+            while(this.moves[slot] != null) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            this.moves[slot] = move;
+            this.destinations[currentCoordinate] |= BitBoard.squareMask(destinationCoordinate);
+        }
+    }
+
+    //the move between the two tiles, null when there is none
+    public Move getMove(final int currentCoordinate, final int destinationCoordinate) {
+        if(!BoardUtils.isValidTileCoordinate(currentCoordinate) || !BoardUtils.isValidTileCoordinate(destinationCoordinate) ||
+                (this.destinations[currentCoordinate] & BitBoard.squareMask(destinationCoordinate)) == 0) {
+            return null;
+        }
+        int slot = slot(currentCoordinate, destinationCoordinate);
+        Move move;
+        while((move = this.moves[slot]) != null) {
+            if(move.getCurrentCoordinate() == currentCoordinate && move.getDestinationCoordinate() == destinationCoordinate) {
+                return move;
+            }
+            slot = (slot + 1) & (this.moves.length - 1);
+        }
+        return null;
+    }
+
+    public long getDestinations(final int currentCoordinate) {
+        return this.destinations[currentCoordinate];
+    }
+
+    private int slot(final int currentCoordinate, final int destinationCoordinate) {
+        return ((currentCoordinate * BoardUtils.NUM_TILES + destinationCoordinate) * 0x9E3779B9) >>> this.shift;
+    }
+}
@@ -0,0 +1,457 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.BoardUtils.BLACK_KING_SIDE_CASTLE;
+import static com.chess.engine.board.BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+import static com.chess.engine.board.BoardUtils.CASTLING_MASKS;
+import static com.chess.engine.board.BoardUtils.WHITE_KING_SIDE_CASTLE;
+import static com.chess.engine.board.BoardUtils.WHITE_QUEEN_SIDE_CASTLE;
+import static com.chess.engine.board.PackedMove.*;
+
+//search side position: moves are applied in place and taken back from an undo stack instead of building a new Board
+//for every move. Moves are PackedMove ints
+public final class MutableBoard {
+
+    public static final int MAX_PLY = 512;
+
+    private static final int EMPTY = NO_PIECE;
+    private static final int NO_EN_PASSANT = -1;
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int KING = PieceType.KING.ordinal();
+
+    //material value of every piece index
+    private static final int[] PIECE_VALUES = createPieceValues();
+
+    private static final long EIGHTH_RANK = 0xFFL;
+    private static final long SEVENTH_RANK = 0xFFL << 8;
+    private static final long SECOND_RANK = 0xFFL << 48;
+    private static final long FIRST_RANK = 0xFFL << 56;
+
+    private final long[] pieces = new long[2 * BitBoard.NUM_PIECE_TYPES];
+    private final long[] occupancies = new long[2];
+    private final int[] mailbox = new int[BoardUtils.NUM_TILES];
+    //running totals per side, same as the Board's for the same position
+    private final int[] materials = new int[2];
+    private final int[] pieceSquareScores = new int[2];
+    private int sideToMove;
+    private int castlingRights;
+    //tile of the pawn that just jumped two squares, as Board.getEnPassantPawn
+    private int enPassantPawn;
+    //same key as Board.getZobristKey for the same position
+    private long zobristKey;
+
+    private final int[] moveHistory = new int[MAX_PLY];
+    private final int[] capturedHistory = new int[MAX_PLY];
+    private final int[] castlingHistory = new int[MAX_PLY];
+    private final int[] enPassantHistory = new int[MAX_PLY];
+    private final long[] keyHistory = new long[MAX_PLY];
+    private int ply;
+
+    private final MoveList scratchMoves = new MoveList();
+
+    public MutableBoard(final Board board) {
+        Arrays.fill(this.mailbox, EMPTY);
+        final BitBoard bitBoard = board.getBitBoard();
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                final int piece = BitBoard.pieceIndex(alliance, pieceType);
+                long squares = bitBoard.getPieces(alliance, pieceType);
+                while (squares != 0) {
+                    putPiece(Long.numberOfTrailingZeros(squares), piece);
+                    squares &= squares - 1;
+                }
+            }
+        }
+        this.sideToMove = board.currentPlayer().getAlliance().isWhite() ? WHITE : BLACK;
+        this.castlingRights = board.getCastlingRights();
+        this.enPassantPawn = board.getEnPassantPawn() != null ? board.getEnPassantPawn().getPiecePosition() : NO_EN_PASSANT;
+        this.zobristKey ^= (this.sideToMove == BLACK ? Zobrist.sideKey() : 0L) ^ Zobrist.castlingKey(this.castlingRights) ^
+                Zobrist.enPassantKey(this.enPassantPawn);
+        this.ply = 0;
+    }
+
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            if (this.mailbox[i] != EMPTY) {
+                final Piece piece = createPiece(i, this.mailbox[i]);
+                builder.setPiece(piece);
+                if (i == this.enPassantPawn) {
+                    builder.setEnPassantPawn((Pawn) piece);
+                }
+            }
+        }
+        builder.setMoveMaker(getSideToMove());
+        return builder.build();
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove == WHITE ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieces[BitBoard.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getMaterial(final Alliance alliance) {
+        return this.materials[alliance.isWhite() ? WHITE : BLACK];
+    }
+
+    public int getPieceSquareScore(final Alliance alliance) {
+        return this.pieceSquareScores[alliance.isWhite() ? WHITE : BLACK];
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    public boolean isInCheck() {
+        return isSquareAttacked(kingCoordinate(this.sideToMove), this.sideToMove ^ 1);
+    }
+
+    public boolean isSquareAttacked(final int coordinate, final Alliance byAlliance) {
+        return isSquareAttacked(coordinate, byAlliance.isWhite() ? WHITE : BLACK);
+    }
+
+    //refills moves with every pseudo legal move of the side to move, makeMove rejects the ones that leave
+    //the own king attacked
+    public void generateMoves(final MoveList moves) {
+        moves.clear();
+        generateMoves(moves, true, true);
+    }
+
+    //only captures, en passant and promotions, so a search can try them before paying for the rest
+    public void generateCaptures(final MoveList moves) {
+        moves.clear();
+        generateMoves(moves, true, false);
+    }
+
+    //every move generateCaptures leaves out
+    public void generateQuiets(final MoveList moves) {
+        moves.clear();
+        generateMoves(moves, false, true);
+    }
+
+    //whether the move is one generateMoves would give in this position, for moves remembered from other positions
+    //such as hash and killer moves, which a search tries before generating anything
+    public boolean isPseudoLegal(final int move) {
+        if (move == NULL_MOVE) {
+            return false;
+        }
+        final int from = getCurrentCoordinate(move);
+        final int to = getDestinationCoordinate(move);
+        final int piece = this.mailbox[from];
+        if (piece == EMPTY || piece != getMovedPiece(move) || piece / BitBoard.NUM_PIECE_TYPES != this.sideToMove) {
+            return false;
+        }
+        final int pieceType = piece % BitBoard.NUM_PIECE_TYPES;
+        final long own = this.occupancies[this.sideToMove];
+        final long occupancy = own | this.occupancies[this.sideToMove ^ 1];
+        if (pieceType == PAWN || isCastlingMove(move)) {
+            //the few pawn and castling moves are simply generated
+            this.scratchMoves.clear();
+            if (pieceType == PAWN) {
+                generatePawnMoves(this.scratchMoves, true, true);
+            } else {
+                generateCastleMoves(this.scratchMoves, from, occupancy);
+            }
+            return this.scratchMoves.contains(move);
+        }
+        final long destinations;
+        if (pieceType == KNIGHT) {
+            destinations = BoardUtils.KNIGHT_ATTACKS[from];
+        } else if (pieceType == BISHOP) {
+            destinations = MagicBitBoards.getBishopAttacks(from, occupancy);
+        } else if (pieceType == ROOK) {
+            destinations = MagicBitBoards.getRookAttacks(from, occupancy);
+        } else if (pieceType == QUEEN) {
+            destinations = MagicBitBoards.getQueenAttacks(from, occupancy);
+        } else {
+            destinations = BoardUtils.KING_ATTACKS[from];
+        }
+        return (destinations & ~own & BitBoard.squareMask(to)) != 0 &&
+                move == encode(from, to, piece, this.mailbox[to], QUIET, 0);
+    }
+
+    public boolean hasLegalMoves() {
+        generateMoves(this.scratchMoves);
+        for (int i = 0; i < this.scratchMoves.size(); i++) {
+            if (makeMove(this.scratchMoves.get(i))) {
+                unmakeMove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //applies a pseudo legal move, if it leaves the mover's king attacked it is taken back and false is returned
+    public boolean makeMove(final int move) {
+        final int from = getCurrentCoordinate(move);
+        final int to = getDestinationCoordinate(move);
+        final int flag = getFlag(move);
+        final int us = this.sideToMove;
+        final int movedPiece = this.mailbox[from];
+
+        this.moveHistory[this.ply] = move;
+        this.castlingHistory[this.ply] = this.castlingRights;
+        this.enPassantHistory[this.ply] = this.enPassantPawn;
+        this.keyHistory[this.ply] = this.zobristKey;
+
+        if (flag == EN_PASSANT) {
+            this.capturedHistory[this.ply] = this.mailbox[this.enPassantPawn];
+            removePiece(this.enPassantPawn);
+        } else {
+            this.capturedHistory[this.ply] = this.mailbox[to];
+            if (this.mailbox[to] != EMPTY) {
+                removePiece(to);
+            }
+        }
+        this.ply++;
+
+        removePiece(from);
+        putPiece(to, isPromotion(move) ? us * BitBoard.NUM_PIECE_TYPES + getPromotionType(move) : movedPiece);
+        if (flag == KING_SIDE_CASTLE) {
+            putPiece(to - 1, removePiece(to + 1));
+        } else if (flag == QUEEN_SIDE_CASTLE) {
+            putPiece(to + 1, removePiece(to - 2));
+        }
+
+        final int castlingRights = this.castlingRights & CASTLING_MASKS[from] & CASTLING_MASKS[to];
+        final int enPassantPawn = flag == PAWN_JUMP ? to : NO_EN_PASSANT;
+        this.zobristKey ^= Zobrist.sideKey() ^ Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights) ^
+                Zobrist.enPassantKey(this.enPassantPawn) ^ Zobrist.enPassantKey(enPassantPawn);
+        this.enPassantPawn = enPassantPawn;
+        this.castlingRights = castlingRights;
+        this.sideToMove = us ^ 1;
+
+        if (isSquareAttacked(kingCoordinate(us), us ^ 1)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    public void unmakeMove() {
+        this.ply--;
+        final int move = this.moveHistory[this.ply];
+        final int from = getCurrentCoordinate(move);
+        final int to = getDestinationCoordinate(move);
+        final int flag = getFlag(move);
+        this.sideToMove ^= 1;
+        final int us = this.sideToMove;
+
+        final int piece = removePiece(to);
+        putPiece(from, isPromotion(move) ? us * BitBoard.NUM_PIECE_TYPES + PAWN : piece);
+        if (flag == KING_SIDE_CASTLE) {
+            putPiece(to + 1, removePiece(to - 1));
+        } else if (flag == QUEEN_SIDE_CASTLE) {
+            putPiece(to - 2, removePiece(to + 1));
+        }
+
+        this.castlingRights = this.castlingHistory[this.ply];
+        this.enPassantPawn = this.enPassantHistory[this.ply];
+        final int capturedPiece = this.capturedHistory[this.ply];
+        if (capturedPiece != EMPTY) {
+            putPiece(flag == EN_PASSANT ? this.enPassantPawn : to, capturedPiece);
+        }
+        this.zobristKey = this.keyHistory[this.ply];
+    }
+
+    private void generateMoves(final MoveList moves, final boolean captures, final boolean quiets) {
+        final int us = this.sideToMove;
+        final int base = us * BitBoard.NUM_PIECE_TYPES;
+        final long own = this.occupancies[us];
+        final long enemy = this.occupancies[us ^ 1];
+        final long occupancy = own | enemy;
+        final long targets = (captures ? enemy : 0L) | (quiets ? ~occupancy : 0L);
+
+        generatePawnMoves(moves, captures, quiets);
+
+        long knights = this.pieces[base + KNIGHT];
+        while (knights != 0) {
+            final int from = Long.numberOfTrailingZeros(knights);
+            knights &= knights - 1;
+            addMoves(moves, from, BoardUtils.KNIGHT_ATTACKS[from] & targets);
+        }
+        long bishops = this.pieces[base + BISHOP];
+        while (bishops != 0) {
+            final int from = Long.numberOfTrailingZeros(bishops);
+            bishops &= bishops - 1;
+            addMoves(moves, from, MagicBitBoards.getBishopAttacks(from, occupancy) & targets);
+        }
+        long rooks = this.pieces[base + ROOK];
+        while (rooks != 0) {
+            final int from = Long.numberOfTrailingZeros(rooks);
+            rooks &= rooks - 1;
+            addMoves(moves, from, MagicBitBoards.getRookAttacks(from, occupancy) & targets);
+        }
+        long queens = this.pieces[base + QUEEN];
+        while (queens != 0) {
+            final int from = Long.numberOfTrailingZeros(queens);
+            queens &= queens - 1;
+            addMoves(moves, from, MagicBitBoards.getQueenAttacks(from, occupancy) & targets);
+        }
+        final int king = kingCoordinate(us);
+        addMoves(moves, king, BoardUtils.KING_ATTACKS[king] & targets);
+        if (quiets) {
+            generateCastleMoves(moves, king, occupancy);
+        }
+    }
+
+    //pushes onto the last rank count as captures, they change the material just the same
+    private void generatePawnMoves(final MoveList moves, final boolean captures, final boolean quiets) {
+        final int us = this.sideToMove;
+        final int pawn = us * BitBoard.NUM_PIECE_TYPES + PAWN;
+        final long enemy = this.occupancies[us ^ 1];
+        final long occupancy = this.occupancies[us] | enemy;
+        final int direction = us == WHITE ? -BoardUtils.NUM_TILES_PER_ROW : BoardUtils.NUM_TILES_PER_ROW;
+        final long jumpRank = us == WHITE ? SECOND_RANK : SEVENTH_RANK;
+        final long promotionRank = us == WHITE ? EIGHTH_RANK : FIRST_RANK;
+        final long[] pawnAttacks = us == WHITE ? BoardUtils.WHITE_PAWN_ATTACKS : BoardUtils.BLACK_PAWN_ATTACKS;
+        final long enPassantTarget = this.enPassantPawn != NO_EN_PASSANT ?
+                BitBoard.squareMask(this.enPassantPawn + direction) : 0L;
+
+        long pawns = this.pieces[pawn];
+        while (pawns != 0) {
+            final int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+
+            final int to = from + direction;
+            if ((occupancy & BitBoard.squareMask(to)) == 0) {
+                final int promotionType = promotionType(promotionRank, to);
+                if (promotionType != 0 ? captures : quiets) {
+                    moves.add(encode(from, to, pawn, NO_PIECE, QUIET, promotionType));
+                }
+                if (quiets && (jumpRank & BitBoard.squareMask(from)) != 0 &&
+                        (occupancy & BitBoard.squareMask(to + direction)) == 0) {
+                    moves.add(encode(from, to + direction, pawn, NO_PIECE, PAWN_JUMP, 0));
+                }
+            }
+            if (!captures) {
+                continue;
+            }
+            long attacks = pawnAttacks[from] & enemy;
+            while (attacks != 0) {
+                final int attackCoordinate = Long.numberOfTrailingZeros(attacks);
+                attacks &= attacks - 1;
+                moves.add(encode(from, attackCoordinate, pawn, this.mailbox[attackCoordinate], QUIET,
+                        promotionType(promotionRank, attackCoordinate)));
+            }
+            if ((pawnAttacks[from] & enPassantTarget) != 0) {
+                moves.add(encode(from, this.enPassantPawn + direction, pawn, this.mailbox[this.enPassantPawn], EN_PASSANT, 0));
+            }
+        }
+    }
+
+    private static int promotionType(final long promotionRank, final int destinationCoordinate) {
+        return (promotionRank & BitBoard.squareMask(destinationCoordinate)) != 0 ? QUEEN : 0;
+    }
+
+    private void generateCastleMoves(final MoveList moves, final int king, final long occupancy) {
+        final int us = this.sideToMove;
+        final int kingSide = us == WHITE ? WHITE_KING_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE;
+        final int queenSide = us == WHITE ? WHITE_QUEEN_SIDE_CASTLE : BLACK_QUEEN_SIDE_CASTLE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0 || isSquareAttacked(king, us ^ 1)) {
+            return;
+        }
+        //O-O
+        if ((this.castlingRights & kingSide) != 0 &&
+                (occupancy & (BitBoard.squareMask(king + 1) | BitBoard.squareMask(king + 2))) == 0 &&
+                !isSquareAttacked(king + 1, us ^ 1) && !isSquareAttacked(king + 2, us ^ 1)) {
+            moves.add(encode(king, king + 2, this.mailbox[king], NO_PIECE, KING_SIDE_CASTLE, 0));
+        }
+        //O-O-O
+        if ((this.castlingRights & queenSide) != 0 &&
+                (occupancy & (BitBoard.squareMask(king - 1) | BitBoard.squareMask(king - 2) |
+                        BitBoard.squareMask(king - 3))) == 0 &&
+                !isSquareAttacked(king - 1, us ^ 1) && !isSquareAttacked(king - 2, us ^ 1)) {
+            moves.add(encode(king, king - 2, this.mailbox[king], NO_PIECE, QUEEN_SIDE_CASTLE, 0));
+        }
+    }
+
+    private void addMoves(final MoveList moves, final int from, long destinations) {
+        final int movedPiece = this.mailbox[from];
+        while (destinations != 0) {
+            final int to = Long.numberOfTrailingZeros(destinations);
+            moves.add(encode(from, to, movedPiece, this.mailbox[to], QUIET, 0));
+            destinations &= destinations - 1;
+        }
+    }
+
+    private boolean isSquareAttacked(final int coordinate, final int by) {
+        return BitBoard.isSquareAttacked(this.pieces, coordinate, by == WHITE,
+                this.occupancies[WHITE] | this.occupancies[BLACK], 0L);
+    }
+
+    private int kingCoordinate(final int side) {
+        return Long.numberOfTrailingZeros(this.pieces[side * BitBoard.NUM_PIECE_TYPES + KING]);
+    }
+
+    private void putPiece(final int coordinate, final int piece) {
+        final long mask = BitBoard.squareMask(coordinate);
+        this.pieces[piece] |= mask;
+        this.occupancies[piece / BitBoard.NUM_PIECE_TYPES] |= mask;
+        this.mailbox[coordinate] = piece;
+        this.zobristKey ^= Zobrist.pieceKey(piece, coordinate);
+        this.materials[piece / BitBoard.NUM_PIECE_TYPES] += PIECE_VALUES[piece];
+        this.pieceSquareScores[piece / BitBoard.NUM_PIECE_TYPES] += PieceSquareTable.score(piece, coordinate);
+    }
+
+    private int removePiece(final int coordinate) {
+        final int piece = this.mailbox[coordinate];
+        final long mask = BitBoard.squareMask(coordinate);
+        this.pieces[piece] &= ~mask;
+        this.occupancies[piece / BitBoard.NUM_PIECE_TYPES] &= ~mask;
+        this.mailbox[coordinate] = EMPTY;
+        this.zobristKey ^= Zobrist.pieceKey(piece, coordinate);
+        this.materials[piece / BitBoard.NUM_PIECE_TYPES] -= PIECE_VALUES[piece];
+        this.pieceSquareScores[piece / BitBoard.NUM_PIECE_TYPES] -= PieceSquareTable.score(piece, coordinate);
+        return piece;
+    }
+
+    private static int[] createPieceValues() {
+        final int[] pieceValues = new int[2 * BitBoard.NUM_PIECE_TYPES];
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                pieceValues[BitBoard.pieceIndex(alliance, pieceType)] = pieceType.getPieceValue();
+            }
+        }
+        return pieceValues;
+    }
+
+    private Piece createPiece(final int coordinate, final int piece) {
+        final Alliance alliance = piece < BitBoard.NUM_PIECE_TYPES ? Alliance.WHITE : Alliance.BLACK;
+        switch (PieceType.values()[piece % BitBoard.NUM_PIECE_TYPES]) {
+            case PAWN:
+                return PieceUtils.getPawn(alliance, coordinate, true);
+            case KNIGHT:
+                return PieceUtils.getKnight(alliance, coordinate, true);
+            case BISHOP:
+                return PieceUtils.getBishop(alliance, coordinate, true);
+            case ROOK:
+                return PieceUtils.getRook(alliance, coordinate, (this.castlingRights & ~CASTLING_MASKS[coordinate]) != 0);
+            case QUEEN:
+                return PieceUtils.getQueen(alliance, coordinate, true);
+            default:
+                final int rights = alliance.isWhite() ? WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE : BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE;
+                return PieceUtils.getKing(alliance, coordinate, (this.castlingRights & rights) != 0);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.chess.engine.board;
+
+import com.chess.engine.board.Move.KingSideCastleMove;
+import com.chess.engine.board.Move.PawnEnPassantAttackMove;
+import com.chess.engine.board.Move.PawnJump;
+import com.chess.engine.board.Move.PawnPromotion;
+import com.chess.engine.board.Move.QueenSideCastleMove;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//a move packed into one int, pieces are stored as BitBoard.pieceIndex values
+//bits  0-5  current coordinate
+//bits  6-11 destination coordinate
+//bits 12-15 moved piece
+//bits 16-19 captured piece, NO_PIECE when nothing is taken
+//bits 20-22 flag
+//bits 23-25 promotion piece type ordinal, 0 when the move is no promotion
+public final class PackedMove {
+
+    public static final int NULL_MOVE = 0;
+
+    public static final int NO_PIECE = 0xF;
+
+    public static final int QUIET = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int EN_PASSANT = 2;
+    public static final int KING_SIDE_CASTLE = 3;
+    public static final int QUEEN_SIDE_CASTLE = 4;
+
+    private static final int NO_PROMOTION = 0;
+
+    private PackedMove() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static int encode(final int currentCoordinate, final int destinationCoordinate, final int movedPiece,
+                             final int capturedPiece, final int flag, final int promotionType) {
+        return currentCoordinate | (destinationCoordinate << 6) | (movedPiece << 12) | (capturedPiece << 16) |
+                (flag << 20) | (promotionType << 23);
+    }
+
+    public static int getCurrentCoordinate(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int getDestinationCoordinate(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int getMovedPiece(final int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static int getCapturedPiece(final int move) {
+        return (move >>> 16) & 0xF;
+    }
+
+    public static int getFlag(final int move) {
+        return (move >>> 20) & 0x7;
+    }
+
+    public static int getPromotionType(final int move) {
+        return (move >>> 23) & 0x7;
+    }
+
+    public static boolean isAttack(final int move) {
+        return getCapturedPiece(move) != NO_PIECE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return getPromotionType(move) != NO_PROMOTION;
+    }
+
+    public static boolean isCastlingMove(final int move) {
+        final int flag = getFlag(move);
+        return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+    }
+
+    public static int fromMove(final Move move) {
+        if (move == null || move.getMovedPiece() == null) {
+            return NULL_MOVE;
+        }
+        final Piece movedPiece = move.getMovedPiece();
+        final Piece attackedPiece = move.getAttackedPiece();
+        final int flag;
+        if (move instanceof PawnJump) {
+            flag = PAWN_JUMP;
+        } else if (move instanceof PawnEnPassantAttackMove) {
+            flag = EN_PASSANT;
+        } else if (move instanceof KingSideCastleMove) {
+            flag = KING_SIDE_CASTLE;
+        } else if (move instanceof QueenSideCastleMove) {
+            flag = QUEEN_SIDE_CASTLE;
+        } else {
+            flag = QUIET;
+        }
+        return encode(move.getCurrentCoordinate(), move.getDestinationCoordinate(),
+                BitBoard.pieceIndex(movedPiece.getPieceAlliance(), movedPiece.getPieceType()),
+                attackedPiece != null ? BitBoard.pieceIndex(attackedPiece.getPieceAlliance(), attackedPiece.getPieceType()) : NO_PIECE,
+                flag,
+                move instanceof PawnPromotion ? PieceType.QUEEN.ordinal() : NO_PROMOTION);
+    }
+
+    //the Move of the board's legal moves that this packed move stands for, Move.NULL_MOVE if there is none
+    public static Move toMove(final Board board, final int move) {
+        if (move == NULL_MOVE) {
+            return Move.NULL_MOVE;
+        }
+        return Move.MoveFactory.createMove(board, getCurrentCoordinate(move), getDestinationCoordinate(move));
+    }
+
+    public static String toString(final int move) {
+        if (move == NULL_MOVE) {
+            return "-";
+        }
+        return BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+                BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(move)) +
+                (isPromotion(move) ? PieceType.values()[getPromotionType(move)].toString().toLowerCase() : "");
+    }
+}
@@ -1,30 +1,53 @@
 package com.chess.engine.board;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.pieces.Piece;
-import com.google.common.collect.ImmutableMap;
-
-import java.util.HashMap;
-import java.util.Map;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.PieceUtils;
 
 public abstract class Tile {
 
     protected final int tileCoordinate;
 
-    private static final Map<Integer, EmptyTile> EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
+    private static final EmptyTile[] EMPTY_TILES_CACHE = createAllPossibleEmptyTiles();
+    //one tile per shared piece instance from PieceUtils, indexed like the piece table
+    private static final OccupiedTile[][][] OCCUPIED_TILES_CACHE = createAllPossibleOccupiedTiles();
 
-    private static Map<Integer,EmptyTile> createAllPossibleEmptyTiles() {
+    private static EmptyTile[] createAllPossibleEmptyTiles() {
 
-        final Map<Integer, EmptyTile> emptyTileMap = new HashMap<>();
+        final EmptyTile[] emptyTiles = new EmptyTile[BoardUtils.NUM_TILES];
 
         for(int i=0; i<BoardUtils.NUM_TILES; i++){
-            emptyTileMap.put(i, new EmptyTile(i));
+            emptyTiles[i] = new EmptyTile(i);
+        }
+
+        return emptyTiles;
+    }
+
+    private static OccupiedTile[][][] createAllPossibleOccupiedTiles() {
+
+        final OccupiedTile[][][] occupiedTiles = new OccupiedTile[2 * BitBoard.NUM_PIECE_TYPES][BoardUtils.NUM_TILES][2];
+
+        for(final Alliance alliance : Alliance.values()) {
+            for(final PieceType pieceType : PieceType.values()) {
+                for(int i=0; i<BoardUtils.NUM_TILES; i++) {
+                    final OccupiedTile[] tiles = occupiedTiles[BitBoard.pieceIndex(alliance, pieceType)][i];
+                    tiles[0] = new OccupiedTile(i, PieceUtils.getPiece(alliance, pieceType, i, false));
+                    tiles[1] = new OccupiedTile(i, PieceUtils.getPiece(alliance, pieceType, i, true));
+                }
+            }
         }
 
-        return ImmutableMap.copyOf(emptyTileMap);
+        return occupiedTiles;
     }
 
     public static Tile createTile(final int tileCoordinate, final Piece piece){
-        return piece !=null ? new OccupiedTile(tileCoordinate, piece) : EMPTY_TILES_CACHE.get(tileCoordinate);
+        if(piece == null) {
+            return EMPTY_TILES_CACHE[tileCoordinate];
+        }
+        final OccupiedTile cachedTile = OCCUPIED_TILES_CACHE[BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType())]
+                [tileCoordinate][piece.isFirstMove() ? 1 : 0];
+        return cachedTile.getPiece() == piece ? cachedTile : new OccupiedTile(tileCoordinate, piece);
     }
 
     private Tile(final int tileCoordinate) {
@@ -0,0 +1,80 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+import static com.chess.engine.board.BoardUtils.NUM_TILES;
+
+//64 bit position keys: one random number per piece on every tile, per castling rights set, per en passant pawn
+//tile and for black to move, xored together. A move changes the key by xoring out what it removes and in what
+//it adds, so nobody has to hash the whole position again
+public final class Zobrist {
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private static final long[][] PIECE_KEYS = new long[2 * BitBoard.NUM_PIECE_TYPES][NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[NUM_TILES];
+    private static final long SIDE_KEY;
+
+    static {
+        long seed = SEED;
+        for (final long[] keys : PIECE_KEYS) {
+            for (int i = 0; i < NUM_TILES; i++) {
+                seed = nextRandom(seed);
+                keys[i] = scramble(seed);
+            }
+        }
+        //no castling rights and no en passant pawn hash to zero so the common case needs no xor
+        for (int i = 1; i < CASTLING_KEYS.length; i++) {
+            seed = nextRandom(seed);
+            CASTLING_KEYS[i] = scramble(seed);
+        }
+        for (int i = 0; i < NUM_TILES; i++) {
+            seed = nextRandom(seed);
+            EN_PASSANT_KEYS[i] = scramble(seed);
+        }
+        seed = nextRandom(seed);
+        SIDE_KEY = scramble(seed);
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("You cannot instantiate me");
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return piece == null ? 0L :
+                PIECE_KEYS[BitBoard.pieceIndex(piece.getPieceAlliance(), piece.getPieceType())][piece.getPiecePosition()];
+    }
+
+    public static long pieceKey(final int pieceIndex, final int coordinate) {
+        return PIECE_KEYS[pieceIndex][coordinate];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final Piece enPassantPawn) {
+        return enPassantPawn == null ? 0L : EN_PASSANT_KEYS[enPassantPawn.getPiecePosition()];
+    }
+
+    public static long enPassantKey(final int coordinate) {
+        return coordinate < 0 ? 0L : EN_PASSANT_KEYS[coordinate];
+    }
+
+    public static long sideKey() {
+        return SIDE_KEY;
+    }
+
+    //xorshift64*, same generator as the magic search, fixed seed so keys are identical on every run
+    private static long nextRandom(long seed) {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed;
+    }
+
+    private static long scramble(final long seed) {
+        return seed * 2685821657736338717L;
+    }
+}
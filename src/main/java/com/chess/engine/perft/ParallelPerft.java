@@ -0,0 +1,212 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//perft spread over a fork join pool: the top splitDepth plies are expanded on immutable Boards, one task per legal
+//move, and every subtree below is counted by a single thread. An optional hash shared by all threads skips
+//subtrees of positions already counted at the same depth. Usage:
+//  ParallelPerft <depth> [fen] [--threads=n] [--split=n] [--hash=mb] [--mutable] [--scaling]
+public final class ParallelPerft {
+
+    public static final int DEFAULT_SPLIT_DEPTH = 2;
+
+    private final int threads;
+    private final int splitDepth;
+    private final PerftHashTable hashTable;
+    private final boolean mutable;
+
+    //hashSizeInMegaBytes 0 counts without a hash, mutable counts the subtrees on the search board
+    public ParallelPerft(final int threads, final int splitDepth, final int hashSizeInMegaBytes, final boolean mutable) {
+        if (threads <= 0 || splitDepth < 0 || hashSizeInMegaBytes < 0) {
+            throw new RuntimeException("Invalid perft configuration: threads " + threads + ", split depth " +
+                    splitDepth + ", hash " + hashSizeInMegaBytes + "MB");
+        }
+        this.threads = threads;
+        this.splitDepth = splitDepth;
+        this.hashTable = hashSizeInMegaBytes > 0 ? new PerftHashTable(hashSizeInMegaBytes) : null;
+        this.mutable = mutable;
+    }
+
+    public long perft(final Board board, final int depth) {
+        final ForkJoinPool pool = new ForkJoinPool(this.threads);
+        try {
+            return pool.invoke(new PerftTask(board, depth, this.splitDepth));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void main(final String[] args) {
+        if (args.length == 0) {
+            System.out.println("usage: ParallelPerft <depth> [fen] [--threads=n] [--split=n] [--hash=mb] [--mutable] [--scaling]");
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        int splitDepth = DEFAULT_SPLIT_DEPTH;
+        int hashSize = 0;
+        boolean mutable = false;
+        boolean scaling = false;
+        final StringBuilder fen = new StringBuilder();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--threads=")) {
+                threads = Integer.parseInt(args[i].substring("--threads=".length()));
+            } else if (args[i].startsWith("--split=")) {
+                splitDepth = Integer.parseInt(args[i].substring("--split=".length()));
+            } else if (args[i].startsWith("--hash=")) {
+                hashSize = Integer.parseInt(args[i].substring("--hash=".length()));
+            } else if (args[i].equals("--mutable")) {
+                mutable = true;
+            } else if (args[i].equals("--scaling")) {
+                scaling = true;
+            } else {
+                fen.append(args[i]).append(' ');
+            }
+        }
+        final Board board = FenUtilities.createGameFromFEN(fen.length() == 0 ? Perft.START_POSITION : fen.toString());
+        if (!scaling) {
+            run(board, depth, threads, splitDepth, hashSize, mutable, 0);
+            return;
+        }
+        //1, 2, 4 ... threads up to the requested count, each with a fresh hash so runs do not help each other. A
+        //shallower unreported run first, otherwise the single thread run also pays for the JIT warming up
+        new ParallelPerft(threads, splitDepth, hashSize, mutable).perft(board, Math.max(depth - 1, 1));
+        final double singleThreadSeconds = run(board, depth, 1, splitDepth, hashSize, mutable, 0);
+        for (int t = 2; t <= threads; t *= 2) {
+            run(board, depth, t, splitDepth, hashSize, mutable, singleThreadSeconds);
+        }
+        if (Integer.bitCount(threads) != 1) {
+            run(board, depth, threads, splitDepth, hashSize, mutable, singleThreadSeconds);
+        }
+    }
+
+    private static double run(final Board board, final int depth, final int threads, final int splitDepth,
+                              final int hashSize, final boolean mutable, final double singleThreadSeconds) {
+        final ParallelPerft perft = new ParallelPerft(threads, splitDepth, hashSize, mutable);
+        final long startTime = System.nanoTime();
+        final long nodes = perft.perft(board, depth);
+        final double seconds = Math.max(System.nanoTime() - startTime, 1) / 1e9;
+        System.out.printf("threads %d depth %d nodes %d time %.3fs nps %.0f", threads, depth, nodes, seconds, nodes / seconds);
+        if (singleThreadSeconds > 0) {
+            final double speedup = singleThreadSeconds / seconds;
+            System.out.printf(" speedup %.2f efficiency %.0f%%", speedup, 100 * speedup / threads);
+        }
+        System.out.println();
+        return seconds;
+    }
+
+    private long countBoard(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final long key = board.getZobristKey();
+        if (this.hashTable != null && depth > 1) {
+            final long stored = this.hashTable.probe(key, depth);
+            if (stored >= 0) {
+                return stored;
+            }
+        }
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += countBoard(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        if (this.hashTable != null && depth > 1) {
+            this.hashTable.store(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    private long countMutable(final MutableBoard board, final int depth, final MoveList[] moveLists) {
+        if (depth == 0) {
+            return 1;
+        }
+        final long key = board.getZobristKey();
+        if (this.hashTable != null && depth > 1) {
+            final long stored = this.hashTable.probe(key, depth);
+            if (stored >= 0) {
+                return stored;
+            }
+        }
+        final MoveList moves = moveLists[depth];
+        board.generateMoves(moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                nodes += countMutable(board, depth - 1, moveLists);
+                board.unmakeMove();
+            }
+        }
+        if (this.hashTable != null && depth > 1) {
+            this.hashTable.store(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    private final class PerftTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+        private final int splitsLeft;
+
+        PerftTask(final Board board, final int depth, final int splitsLeft) {
+            this.board = board;
+            this.depth = depth;
+            this.splitsLeft = splitsLeft;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.splitsLeft == 0 || this.depth <= 1) {
+                return countSubtree();
+            }
+            final long key = this.board.getZobristKey();
+            if (hashTable != null) {
+                final long stored = hashTable.probe(key, this.depth);
+                if (stored >= 0) {
+                    return stored;
+                }
+            }
+            final List<PerftTask> tasks = new ArrayList<>();
+            for (final Move move : this.board.currentPlayer().getLegalMoves()) {
+                final MoveTransition transition = this.board.currentPlayer().makeMove(move);
+                if (transition.getMoveStatus().isDone()) {
+                    tasks.add(new PerftTask(transition.getTransitionBoard(), this.depth - 1, this.splitsLeft - 1));
+                }
+            }
+            long nodes = 0;
+            for (final PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            if (hashTable != null) {
+                hashTable.store(key, this.depth, nodes);
+            }
+            return nodes;
+        }
+
+        private long countSubtree() {
+            if (!mutable) {
+                return countBoard(this.board, this.depth);
+            }
+            final MoveList[] moveLists = new MoveList[this.depth + 1];
+            for (int i = 0; i <= this.depth; i++) {
+                moveLists[i] = new MoveList();
+            }
+            return countMutable(new MutableBoard(this.board), this.depth, moveLists);
+        }
+    }
+}
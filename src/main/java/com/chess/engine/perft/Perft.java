@@ -0,0 +1,180 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//counts the leaves of the legal move tree to a fixed depth, the standard way to prove a move generator right and
+//to time it. Usage:
+//  Perft                          both generators on the reference positions
+//  Perft <depth> [fen] [options]  one position, options: --divide per root move, --mutable for the search board
+public final class Perft {
+
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -";
+
+    //published leaf counts, only as deep as no pawn can promote: this engine promotes to queens only, so deeper
+    //counts of these positions come out short by the underpromotions
+    private static final String[] REFERENCE_POSITIONS = {
+            START_POSITION,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -"
+    };
+    private static final long[][] REFERENCE_COUNTS = {
+            {20, 400, 8902, 197281, 4865609},
+            {48, 2039, 97862},
+            {14, 191, 2812, 43238, 674624}
+    };
+
+    private Perft() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += perft(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    public static long perft(final MutableBoard board, final int depth) {
+        return perft(board, depth, createMoveLists(depth));
+    }
+
+    //leaf count below every legal root move, keyed like e2e4
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                counts.put(moveName(move), perft(transition.getTransitionBoard(), depth - 1));
+            }
+        }
+        return counts;
+    }
+
+    public static Map<String, Long> divide(final MutableBoard board, final int depth) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        final MoveList[] moveLists = createMoveLists(depth);
+        final MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                counts.put(PackedMove.toString(moves.get(i)), perft(board, depth - 1, moveLists));
+                board.unmakeMove();
+            }
+        }
+        return counts;
+    }
+
+    public static void main(final String[] args) {
+        if (args.length == 0) {
+            runReferencePositions();
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        final boolean divide = Arrays.asList(args).contains("--divide");
+        final boolean mutable = Arrays.asList(args).contains("--mutable");
+        final StringBuilder fen = new StringBuilder();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                fen.append(args[i]).append(' ');
+            }
+        }
+        final Board board = FenUtilities.createGameFromFEN(fen.length() == 0 ? START_POSITION : fen.toString());
+        final long startTime = System.nanoTime();
+        final long nodes;
+        if (divide) {
+            final Map<String, Long> counts = mutable ? divide(new MutableBoard(board), depth) : divide(board, depth);
+            counts.forEach((move, count) -> System.out.println(move + ": " + count));
+            nodes = counts.values().stream().mapToLong(Long::longValue).sum();
+            System.out.println("moves: " + counts.size());
+        } else {
+            nodes = mutable ? perft(new MutableBoard(board), depth) : perft(board, depth);
+        }
+        report(depth, nodes, System.nanoTime() - startTime);
+    }
+
+    private static long perft(final MutableBoard board, final int depth, final MoveList[] moveLists) {
+        if (depth == 0) {
+            return 1;
+        }
+        final MoveList moves = moveLists[depth];
+        board.generateMoves(moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            if (board.makeMove(moves.get(i))) {
+                nodes += perft(board, depth - 1, moveLists);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    private static MoveList[] createMoveLists(final int depth) {
+        final MoveList[] moveLists = new MoveList[depth + 1];
+        for (int i = 0; i <= depth; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return moveLists;
+    }
+
+    private static void runReferencePositions() {
+        boolean passed = true;
+        for (int i = 0; i < REFERENCE_POSITIONS.length; i++) {
+            System.out.println(REFERENCE_POSITIONS[i]);
+            final Board board = FenUtilities.createGameFromFEN(REFERENCE_POSITIONS[i]);
+            for (int depth = 1; depth <= REFERENCE_COUNTS[i].length; depth++) {
+                final long expected = REFERENCE_COUNTS[i][depth - 1];
+                //the board generator builds a new Board per move, its deepest reference count takes minutes
+                if (expected < 1_000_000) {
+                    passed &= check("board  ", depth, expected, board);
+                }
+                passed &= check("mutable", depth, expected, new MutableBoard(board));
+            }
+        }
+        System.out.println(passed ? "all reference counts match" : "REFERENCE COUNT MISMATCH");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(final String generator, final int depth, final long expected, final Object board) {
+        final long startTime = System.nanoTime();
+        final long nodes = board instanceof Board ? perft((Board) board, depth) : perft((MutableBoard) board, depth);
+        final long elapsed = System.nanoTime() - startTime;
+        System.out.print(generator + " ");
+        report(depth, nodes, elapsed);
+        if (nodes != expected) {
+            System.out.println("  expected " + expected);
+            return false;
+        }
+        return true;
+    }
+
+    private static void report(final int depth, final long nodes, final long elapsedNanos) {
+        final double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        System.out.printf("depth %d nodes %d time %.3fs nps %.0f%n", depth, nodes, seconds, nodes / seconds);
+    }
+
+    private static String moveName(final Move move) {
+        return BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+                BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()) +
+                (move instanceof Move.PawnPromotion ? "q" : "");
+    }
+}
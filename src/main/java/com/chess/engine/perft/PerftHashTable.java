@@ -0,0 +1,40 @@
+package com.chess.engine.perft;
+
+//leaf counts of subtrees already counted, by position key and remaining depth. Laid out like the transposition
+//table: a check word key ^ data next to the data word, so threads share it without locks and a torn entry is a miss
+final class PerftHashTable {
+
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final long[] table;
+    private final int entryMask;
+
+    PerftHashTable(final int sizeInMegaBytes) {
+        final long entries = Long.highestOneBit((long) sizeInMegaBytes * 1024 * 1024 / (2 * Long.BYTES));
+        this.table = new long[(int) Math.min(entries, 1 << 28) * 2];
+        this.entryMask = this.table.length / 2 - 1;
+    }
+
+    //the count stored for the position at that depth, -1 if there is none
+    long probe(final long key, final int depth) {
+        final int index = index(key, depth);
+        final long data = this.table[index + 1];
+        if (data != 0 && (this.table[index] ^ data) == key && (data & DEPTH_MASK) == depth) {
+            return data >>> DEPTH_BITS;
+        }
+        return -1;
+    }
+
+    void store(final long key, final int depth, final long count) {
+        final int index = index(key, depth);
+        final long data = (count << DEPTH_BITS) | depth;
+        this.table[index] = key ^ data;
+        this.table[index + 1] = data;
+    }
+
+    //the same position at different depths lands in different slots instead of replacing itself
+    private int index(final long key, final int depth) {
+        return (int) ((key ^ (depth * 0x9E3779B97F4A7C15L)) & this.entryMask) * 2;
+    }
+}
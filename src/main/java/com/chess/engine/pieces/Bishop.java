@@ -1,22 +1,15 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitBoards;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-
-import static com.chess.engine.board.Move.*;
 
 public class Bishop extends Piece{
 
-    private final static int[] COORDINATE_MOVE_VECTOR_COORDINATES = {-9, -7, 7, 9};
-
     public Bishop(final Alliance pieceAlliance, final int piecePosition) {
         super(PieceType.BISHOP, pieceAlliance, piecePosition, true);
     }
@@ -26,56 +19,18 @@ public class Bishop extends Piece{
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-         for(final int candidateCoordinateOffset: COORDINATE_MOVE_VECTOR_COORDINATES) {
-             int candidateDestinationCoordinate = this.piecePosition;
-             while(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-
-                 if(isFirstColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset) ||
-                         isEighthColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset)){
-                     break;
-                 }
-
-                 candidateDestinationCoordinate += candidateCoordinateOffset;
-
-                 if(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                     final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                     if (!candidateDestinationTile.isTileOccupied()) {
-                         legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                     }
-                     else {
-                         final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                         final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-
-                         if (this.pieceAlliance != pieceAlliance) {
-                             legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                         }
-                         break; //because if its occupied we can't go further!
-                     }
-                 }
-             }
-         }
-
-         return ImmutableList.copyOf(legalMoves);
+        final BitBoard bitBoard = board.getBitBoard();
+        final long candidateDestinations = MagicBitBoards.getBishopAttacks(this.piecePosition, bitBoard.getOccupancy());
+        return calculateMajorMoves(board, candidateDestinations & ~bitBoard.getOccupancy(this.pieceAlliance));
     }
 
     @Override
     public Bishop movePiece(Move move) {
-        return new Bishop(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return PieceUtils.getBishop(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), true);
     }
 
     @Override
     public String toString() {
         return PieceType.BISHOP.toString();
     }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -9 || candidateOffset == 7);
-    }
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.EIGHTH_COLUMN[currentPosition] && (candidateOffset == -7 || candidateOffset == 9);
-    }
 }
@@ -1,6 +1,7 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
@@ -27,6 +28,8 @@ public class Pawn extends Piece{
     public Collection<Move> calculateLegalMoves(final Board board) {
 
         final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+        final Alliance opponentAlliance = this.pieceAlliance.getOpposite();
 
         for(final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
              final int candidateDestinationCoordinate = this.piecePosition + (this.getPieceAlliance().getDirection() * currentCandidateOffset);
@@ -35,7 +38,7 @@ public class Pawn extends Piece{
                  continue;
              }
 
-             if(currentCandidateOffset == 8 && !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
+             if(currentCandidateOffset == 8 && !bitBoard.isOccupied(candidateDestinationCoordinate)) {
                  if(this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
                      legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
                  }
@@ -48,17 +51,17 @@ public class Pawn extends Piece{
                      ((BoardUtils.SEVENTH_RANK[this.piecePosition] && this.pieceAlliance.isBlack()) ||
                      (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite()))) {
                  final int behindCandidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
-                 if(!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() &&
-                    !board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
+                 if(!bitBoard.isOccupied(behindCandidateDestinationCoordinate) &&
+                    !bitBoard.isOccupied(candidateDestinationCoordinate)) {
                      legalMoves.add(new PawnJump(board, this, candidateDestinationCoordinate));
                  }
              }
              else if(currentCandidateOffset == 7 &&
                      !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
                       (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())) )) {
-                 if(board.getTile(candidateDestinationCoordinate).isTileOccupied()){
-                     final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-                     if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
+                 if(bitBoard.isOccupied(candidateDestinationCoordinate)){
+                     if(bitBoard.isOccupiedBy(candidateDestinationCoordinate, opponentAlliance)) {
+                         final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
                          if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
                             legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
                          }
@@ -79,9 +82,9 @@ public class Pawn extends Piece{
              else if(currentCandidateOffset == 9 &&
                      !((BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
                      (BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack())) )) {
-                 if(board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                     final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-                     if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
+                 if(bitBoard.isOccupied(candidateDestinationCoordinate)) {
+                     if (bitBoard.isOccupiedBy(candidateDestinationCoordinate, opponentAlliance)) {
+                         final Piece pieceOnCandidate = board.getPiece(candidateDestinationCoordinate);
                          if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
                              legalMoves.add(new PawnPromotion(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate)));
                          }
@@ -105,7 +108,7 @@ public class Pawn extends Piece{
 
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return PieceUtils.getPawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), true);
     }
 
     @Override
@@ -114,7 +117,7 @@ public class Pawn extends Piece{
     }
 
     public Piece getPromotionPiece() {
-        return new Queen(this.pieceAlliance, this.piecePosition, false);
+        return PieceUtils.getQueen(this.pieceAlliance, this.piecePosition, false);
     }
 
 }
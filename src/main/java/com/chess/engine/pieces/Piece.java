@@ -1,10 +1,17 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+
+import static com.chess.engine.board.Move.MajorAttackMove;
+import static com.chess.engine.board.Move.MajorMove;
 
 public abstract class Piece {
 
@@ -74,6 +81,26 @@ public abstract class Piece {
 
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    //turns a destination set into moves, tiles held by our own pieces must already be masked out
+    protected Collection<Move> calculateMajorMoves(final Board board, long candidateDestinations) {
+        final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+
+        while(candidateDestinations != 0) {
+            final int candidateDestinationCoordinate = Long.numberOfTrailingZeros(candidateDestinations);
+            candidateDestinations &= candidateDestinations - 1;
+
+            if (!bitBoard.isOccupied(candidateDestinationCoordinate)) {
+                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+            }
+            else {
+                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+                legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
+            }
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
     public abstract Piece movePiece(Move move);
 
 
@@ -0,0 +1,78 @@
+package com.chess.engine.pieces;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//every piece that can exist, one per alliance, type, tile and first move flag. Pieces are immutable, so moves hand
+//out these shared instances instead of allocating a new piece each time
+public final class PieceUtils {
+
+    private static final Piece[][][] ALL_POSSIBLE_PIECES = createAllPossiblePieces();
+
+    private PieceUtils() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static Pawn getPawn(final Alliance alliance, final int position, final boolean isFirstMove) {
+        return (Pawn) getPiece(alliance, PieceType.PAWN, position, isFirstMove);
+    }
+
+    public static Knight getKnight(final Alliance alliance, final int position, final boolean isFirstMove) {
+        return (Knight) getPiece(alliance, PieceType.KNIGHT, position, isFirstMove);
+    }
+
+    public static Bishop getBishop(final Alliance alliance, final int position, final boolean isFirstMove) {
+        return (Bishop) getPiece(alliance, PieceType.BISHOP, position, isFirstMove);
+    }
+
+    public static Rook getRook(final Alliance alliance, final int position, final boolean isFirstMove) {
+        return (Rook) getPiece(alliance, PieceType.ROOK, position, isFirstMove);
+    }
+
+    public static Queen getQueen(final Alliance alliance, final int position, final boolean isFirstMove) {
+        return (Queen) getPiece(alliance, PieceType.QUEEN, position, isFirstMove);
+    }
+
+    public static King getKing(final Alliance alliance, final int position, final boolean isFirstMove) {
+        return (King) getPiece(alliance, PieceType.KING, position, isFirstMove);
+    }
+
+    public static Piece getPiece(final Alliance alliance, final PieceType pieceType, final int position,
+                                 final boolean isFirstMove) {
+        return ALL_POSSIBLE_PIECES[BitBoard.pieceIndex(alliance, pieceType)][position][isFirstMove ? 1 : 0];
+    }
+
+    private static Piece[][][] createAllPossiblePieces() {
+        final Piece[][][] pieces = new Piece[2 * BitBoard.NUM_PIECE_TYPES][BoardUtils.NUM_TILES][2];
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
+                    final Piece[] flags = pieces[BitBoard.pieceIndex(alliance, pieceType)][position];
+                    flags[0] = createPiece(alliance, pieceType, position, false);
+                    flags[1] = createPiece(alliance, pieceType, position, true);
+                }
+            }
+        }
+        return pieces;
+    }
+
+    private static Piece createPiece(final Alliance alliance, final PieceType pieceType, final int position,
+                                     final boolean isFirstMove) {
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(alliance, position, isFirstMove);
+            case KNIGHT:
+                return new Knight(alliance, position, isFirstMove);
+            case BISHOP:
+                return new Bishop(alliance, position, isFirstMove);
+            case ROOK:
+                return new Rook(alliance, position, isFirstMove);
+            case QUEEN:
+                return new Queen(alliance, position, isFirstMove);
+            default:
+                return new King(alliance, position, isFirstMove);
+        }
+    }
+}
@@ -15,10 +15,8 @@ import java.util.Collection;
 import java.util.List;
 
 public class BlackPlayer extends Player {
-    public BlackPlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -37,7 +35,7 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
 
         final List<Move> kingCastles = new ArrayList<>();
 
@@ -46,8 +44,8 @@ public class BlackPlayer extends Player {
             if(!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(7);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if(Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(6,opponentLegals).isEmpty() &&
+                    if(!isAttackedByOpponent(5) &&
+                            !isAttackedByOpponent(6) &&
                             rookTile.getPiece().getPieceType().isRook()){
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 6,
                                 (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 5));;
@@ -59,8 +57,8 @@ public class BlackPlayer extends Player {
                     !this.board.getTile(3).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(0);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
-                    Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
+                    !isAttackedByOpponent(2) &&
+                    !isAttackedByOpponent(3) &&
                     rookTile.getPiece().getPieceType().isRook()) {
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 2,
                             (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 3));;
@@ -0,0 +1,23 @@
+package com.chess.engine.player;
+
+public enum GameStatus {
+    ONGOING {
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+    },
+    CHECKMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+    },
+    STALEMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+    };
+    public abstract boolean isGameOver();
+}
@@ -1,33 +1,29 @@
 package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveIndex;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public abstract class Player {
 
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
-
-    Player(final Board board,
-           final Collection<Move> legalMoves,
-           final Collection<Move> opponentMoves) {
+    private volatile Collection<Move> legalMoves;
+    private volatile MoveIndex moveIndex;
+    private volatile Boolean isInCheck;
+    private volatile GameStatus gameStatus;
 
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
-        //opponents moves attack the current players kings position if it isn't empty then in check
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
     }
 
     public King getPlayerKing() {
@@ -35,16 +31,27 @@ public abstract class Player {
     }
 
     public Collection<Move> getLegalMoves(){
-        return this.legalMoves;
+        Collection<Move> result = this.legalMoves;
+        if (result == null) {
+            final Collection<Move> standardLegalMoves = this.board.getStandardLegalMoves(getAlliance());
+            result = ImmutableList.copyOf(Iterables.concat(standardLegalMoves, calculateKingCastles(standardLegalMoves)));
+            this.legalMoves = result;
+        }
+        return result;
     }
-    protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
-        for(final Move move : moves) {
-            if(piecePosition == move.getDestinationCoordinate()) {
-                attackMoves.add(move);
-            }
+
+    //built on first use from the legal moves, for looking moves up by their tiles
+    public MoveIndex getMoveIndex() {
+        MoveIndex result = this.moveIndex;
+        if (result == null) {
+            result = new MoveIndex(getLegalMoves());
+            this.moveIndex = result;
         }
-        return ImmutableList.copyOf(attackMoves);
+        return result;
+    }
+
+    protected boolean isAttackedByOpponent(final int tileCoordinate) {
+        return this.board.isSquareAttacked(tileCoordinate, getAlliance().getOpposite());
     }
 
     private King establishKing() {
@@ -56,25 +63,45 @@ public abstract class Player {
         throw new RuntimeException("Invalid Board!");
     }
 
+    //one lookup by the move's tiles instead of comparing it with every legal move
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        final Move legalMove = getMoveIndex().getMove(move.getCurrentCoordinate(), move.getDestinationCoordinate());
+        return legalMove != null && (legalMove == move || move.equals(legalMove));
     }
     public boolean isInCheck() {
-        return this.isInCheck;
+        Boolean result = this.isInCheck;
+        if (result == null) {
+            result = isAttackedByOpponent(this.playerKing.getPiecePosition());
+            this.isInCheck = result;
+        }
+        return result;
     }
 
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.CHECKMATE;
     }
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.STALEMATE;
+    }
+
+    //worked out once per board, the search only needs one legal move to know the game goes on
+    public GameStatus getGameStatus() {
+        GameStatus result = this.gameStatus;
+        if (result == null) {
+            if (hasEscapeMoves()) {
+                result = GameStatus.ONGOING;
+            } else {
+                result = isInCheck() ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
+            }
+            this.gameStatus = result;
+        }
+        return result;
     }
 
     //if we were able to make any move from our legal moves we return true
     protected boolean hasEscapeMoves() {
-        for (final Move move : this.legalMoves) {
-            final MoveTransition transition = makeMove(move);
-            if(transition.getMoveStatus().isDone()) {
+        for (final Move move : getLegalMoves()) {
+            if(!leavesKingInCheck(move)) {
                 return true;
             }
         }
@@ -91,30 +118,35 @@ public abstract class Player {
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
 
-        final Board transitionBoard = move.execute();
-
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.currentPlayer().getLegalMoves());
-
-        if(!kingAttacks.isEmpty()) {
+        if(leavesKingInCheck(move)) {
             return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
         }
 
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
+    }
+
+    //looks at the occupancy the move leaves behind instead of building the board after it. The rook of a castle
+    //can stay where it is: any attacker its new tile would block already gives check to the king on its start tile
+    protected boolean leavesKingInCheck(final Move move) {
+        final BitBoard bitBoard = this.board.getBitBoard();
+        final long destination = BitBoard.squareMask(move.getDestinationCoordinate());
+        final long captured = move.isAttack() ?
+                BitBoard.squareMask(move.getAttackedPiece().getPiecePosition()) | destination : destination;
+        final long occupancy = (bitBoard.getOccupancy() & ~BitBoard.squareMask(move.getCurrentCoordinate()) & ~captured) |
+                destination;
+        final int kingCoordinate = move.getMovedPiece().getPieceType().isKing() ?
+                move.getDestinationCoordinate() : this.playerKing.getPiecePosition();
+        return bitBoard.isSquareAttacked(kingCoordinate, getAlliance().getOpposite(), occupancy, captured);
     }
 
     public int getPicesValue(){
-        int score = 0;
-        for (var piece : this.getActivePieces()) {
-            score += piece.getPieceValue();
-        }
-        return score;
+        return this.board.getMaterial(getAlliance());
     }
 
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals);
 
 
 
@@ -15,10 +15,8 @@ import java.util.Collection;
 import java.util.List;
 
 public class WhitePlayer extends Player {
-    public WhitePlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves,  blackStandardLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -37,7 +35,7 @@ public class WhitePlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
 
         final List<Move> kingCastles = new ArrayList<>();
 
@@ -46,8 +44,8 @@ public class WhitePlayer extends Player {
             if(!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(63);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if(Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(62,opponentLegals).isEmpty() &&
+                    if(!isAttackedByOpponent(61) &&
+                            !isAttackedByOpponent(62) &&
                             rookTile.getPiece().getPieceType().isRook()){
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 62,
                                 (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 61));
@@ -59,8 +57,8 @@ public class WhitePlayer extends Player {
                     !this.board.getTile(57).isTileOccupied()){
                 final Tile rookTile = this.board.getTile(56);
                 if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                        Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
+                        !isAttackedByOpponent(58) &&
+                        !isAttackedByOpponent(59) &&
                         rookTile.getPiece().getPieceType().isRook()) {
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 58,
                             (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 59));;
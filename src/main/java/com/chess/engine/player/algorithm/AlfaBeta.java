@@ -2,92 +2,341 @@ package com.chess.engine.player.algorithm;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
 
-public class AlfaBeta implements MoveStrategy {
+import static com.chess.engine.player.algorithm.TranspositionTable.*;
+
+//negamax principal variation search: scores are from the side to move, the first move of a node gets the full
+//window and every later one only a null window proving it is no better, searched again in full when it is
+public class AlfaBeta implements MoveStrategy, RootSearch {
+
+    //score of being mated at the root, mates further away score less so the shortest one is played
+    public static final int MATE_SCORE = 1_000_000;
+    static final int INFINITY = MATE_SCORE + 1;
+    //scores past this are mates, stored in the table relative to the node instead of the root
+    private static final int MATE_BOUND = MATE_SCORE - MutableBoard.MAX_PLY;
+
+    //a capture is skipped in quiescence search when even winning the piece and this much more, in hundredths of a
+    //pawn like the evaluation, would not get the score up to alfa
+    private static final int DELTA_MARGIN = 200;
+    private static final int PAWN_SCORE = 100;
+
+    //nodes between looks at the clock and the node limit
+    private static final int CHECK_INTERVAL = 1024;
 
     private final BoardEvaluator boardEvaluator;
     private final int depth;
-    public int calculatedMoves;
+    //one move list and picker per ply so the search itself does not allocate
+    private final MoveList[] moveLists;
+    private final MovePicker[] movePickers;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrdering moveOrdering;
+    public long calculatedMoves;
+    //the part of calculatedMoves already added to the search control
+    private long reportedMoves;
+    //limits of the running search, possibly shared with other threads. A stopped search unwinds without storing
+    //anything
+    private SearchControl searchControl;
+    private RootMoveOrdering rootMoveOrdering;
+    private int lastScore;
+    //root move tried first whatever the hints say, see setRootMoveOffset
+    private int rootMoveOffset;
 
     public AlfaBeta(final int depth) {
+        this(depth, new TranspositionTable());
+    }
+
+    public AlfaBeta(final int depth, final TranspositionTable transpositionTable) {
         this.boardEvaluator = new StandardBoardEvaluator();
         this.depth = depth;
+        this.moveLists = new MoveList[MutableBoard.MAX_PLY];
+        this.movePickers = new MovePicker[MutableBoard.MAX_PLY];
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = new MoveOrdering();
+        this.searchControl = new SearchControl(Long.MAX_VALUE, Long.MAX_VALUE);
+        this.rootMoveOrdering = RootMoveOrdering.GENERATION_ORDER;
         calculatedMoves = 0;
     }
 
     @Override
     public Move execute(Board board) {
         final long startTime = System.currentTimeMillis();
-        Move bestMove = null;
-        int minValue = Integer.MAX_VALUE;
-        int maxValue = Integer.MIN_VALUE;
-        int alfa = Integer.MIN_VALUE;
-        int beta = Integer.MAX_VALUE;
-        int currentValue;
+        final MutableBoard searchBoard = new MutableBoard(board);
+        startSearch(Long.MAX_VALUE, Long.MAX_VALUE);
+        final int bestMove = search(searchBoard, this.depth, PackedMove.NULL_MOVE);
+        var executionTime = System.currentTimeMillis() - startTime;
+        System.out.println(executionTime + " calculated moves: " + calculatedMoves +
+                String.format(" tt hit rate: %.2f", this.transpositionTable.getHitRate()));
+        if (bestMove == PackedMove.NULL_MOVE) {
+            return null;
+        }
+        return PackedMove.toMove(board, bestMove);
+    }
+
+    //also opens a new transposition table generation
+    @Override
+    public void startSearch(final long deadline, final long maxNodes) {
+        newSearch(new SearchControl(deadline, maxNodes));
+        this.transpositionTable.newSearch();
+    }
+
+    //starts a search without touching the shared table, for the threads of a parallel search
+    void newSearch(final SearchControl searchControl) {
+        joinSearch(searchControl);
         calculatedMoves = 0;
+        this.reportedMoves = 0;
+        this.moveOrdering.newSearch();
+    }
+
+    //searches under the limits of a search other threads are running as well
+    void joinSearch(final SearchControl searchControl) {
+        this.searchControl = searchControl;
+    }
+
+    //hands the moves not yet counted to the search control, where the node counts of all threads add up
+    void reportNodes() {
+        this.searchControl.addNodes(calculatedMoves - this.reportedMoves);
+        this.reportedMoves = calculatedMoves;
+    }
+
+    //helpers of a lazy smp search each start on another root move, so they fill the shared table with other lines
+    void setRootMoveOffset(final int rootMoveOffset) {
+        this.rootMoveOffset = rootMoveOffset;
+    }
+
+    @Override
+    public void setRootMoveOrdering(final RootMoveOrdering rootMoveOrdering) {
+        this.rootMoveOrdering = rootMoveOrdering;
+    }
+
+    @Override
+    public void stop() {
+        this.searchControl.stop();
+    }
+
+    @Override
+    public boolean isStopped() {
+        return this.searchControl.isStopped();
+    }
+
+    @Override
+    public int getLastScore() {
+        return this.lastScore;
+    }
+
+    @Override
+    public long getNodeCount() {
+        return calculatedMoves;
+    }
 
-        for (var move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentValue = board.currentPlayer().getAlliance().isWhite() ?
-                        min(moveTransition.getTransitionBoard(), depth - 1, alfa, beta) :
-                        max(moveTransition.getTransitionBoard(), depth - 1, alfa, beta);
-                if (board.currentPlayer().getAlliance().isWhite() && currentValue >= maxValue) {
-                    maxValue = currentValue;
+    //searches on the calling thread, there is nothing to let go of
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public int search(final MutableBoard board, final int depth, final int firstMove) {
+        int bestMove = PackedMove.NULL_MOVE;
+        int bestValue = -INFINITY;
+        int alfa = -INFINITY;
+        //played when the search is stopped before any root move is done, so there is always a move
+        int firstLegalMove = PackedMove.NULL_MOVE;
+
+        final MoveList moves = moveList(board.getPly());
+        board.generateMoves(moves);
+        this.rootMoveOrdering.order(board, moves);
+        moves.moveToFront(getMove(this.transpositionTable.probe(board.getZobristKey())));
+        moves.moveToFront(firstMove);
+        if (this.rootMoveOffset > 0 && moves.size() > 1) {
+            moves.moveToFront(moves.get(this.rootMoveOffset % moves.size()));
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (board.makeMove(move)) {
+                final int currentValue = searchChild(board, depth, alfa, INFINITY,
+                        firstLegalMove == PackedMove.NULL_MOVE);
+                board.unmakeMove();
+                if (firstLegalMove == PackedMove.NULL_MOVE)
+                    firstLegalMove = move;
+                if (isStopped())
+                    break;
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
                     bestMove = move;
-                } else if (board.currentPlayer().getAlliance().isBlack() && currentValue <= minValue) {
-                    minValue = currentValue;
+                    alfa = Math.max(alfa, currentValue);
+                }
+            }
+        }
+        if (firstLegalMove == PackedMove.NULL_MOVE)
+            bestValue = terminalScore(board);
+        this.lastScore = board.getSideToMove().isWhite() ? bestValue : -bestValue;
+        reportNodes();
+        return bestMove != PackedMove.NULL_MOVE ? bestMove : firstLegalMove;
+    }
+
+    //score of the side to move with depth plies left, a fail low returns an upper bound at most alfa and a fail
+    //high a lower bound at least beta
+    public int principalVariationSearch(MutableBoard board, int depth, int alfa, int beta) {
+        calculatedMoves++;
+        if ((calculatedMoves & (CHECK_INTERVAL - 1)) == 0)
+            checkLimits();
+        if (depth == 0)
+            return quiescence(board, alfa, beta);
+        final long key = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        if (entry != 0 && getDepth(entry) >= depth) {
+            final int score = scoreFromTable(getScore(entry), board.getPly());
+            if (getBound(entry) == EXACT || getBound(entry) == UPPER_BOUND && score <= alfa ||
+                    getBound(entry) == LOWER_BOUND && score >= beta)
+                return score;
+        }
+        final int alfaOriginal = alfa;
+        //no legal child means checkmate or stalemate, found while expanding instead of by a separate check
+        boolean hasLegalMove = false;
+        int bestValue = -INFINITY;
+        int bestMove = PackedMove.NULL_MOVE;
+        final MovePicker movePicker = movePicker(board.getPly());
+        movePicker.init(board, getMove(entry), board.getPly());
+        int move;
+        while ((move = movePicker.next()) != PackedMove.NULL_MOVE) {
+            if (board.makeMove(move)) {
+                final int currentValue = searchChild(board, depth, alfa, beta, !hasLegalMove);
+                board.unmakeMove();
+                hasLegalMove = true;
+                if (isStopped())
+                    return 0;
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
                     bestMove = move;
+                    if (currentValue > alfa)
+                        alfa = currentValue;
+                    if (alfa >= beta) {
+                        this.moveOrdering.recordCutoff(bestMove, board.getPly(), depth);
+                        break;
+                    }
                 }
             }
         }
-        var executionTime = System.currentTimeMillis() - startTime;
-        System.out.println(executionTime + " calculated moves: " + calculatedMoves);
-        return bestMove;
+        if (!hasLegalMove)
+            bestValue = terminalScore(board);
+        this.transpositionTable.store(key, bestMove, scoreToTable(bestValue, board.getPly()), depth,
+                bound(bestValue, alfaOriginal, beta));
+        return bestValue;
     }
 
-    public int min(Board board, int depth, int alfa, int beta) {
+    //searches captures and promotions only, until the position is quiet enough for the evaluation to be trusted.
+    //The side to move may also stand pat on the evaluation instead of capturing, unless it is in check: then every
+    //evasion is searched and having none is mate
+    private int quiescence(final MutableBoard board, int alfa, final int beta) {
         calculatedMoves++;
-        if (depth == 0 || this.isEndGameScenario(board))
-            return this.boardEvaluator.evaluate(board, depth);
-        int minValue = Integer.MAX_VALUE;
-        for (var move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getTransitionBoard(), depth - 1, alfa, beta);
-                if (currentValue <= minValue)
-                    minValue = currentValue;
-                if (beta > minValue)
-                    beta = minValue;
-                if (beta <= alfa)
-                    break;
+        if ((calculatedMoves & (CHECK_INTERVAL - 1)) == 0)
+            checkLimits();
+        final int ply = board.getPly();
+        if (ply >= MutableBoard.MAX_PLY - 1)
+            return evaluate(board);
+        final boolean inCheck = board.isInCheck();
+        final int standPat = inCheck ? -INFINITY : evaluate(board);
+        if (standPat >= beta)
+            return standPat;
+        if (standPat > alfa)
+            alfa = standPat;
+        int bestValue = standPat;
+        boolean hasLegalMove = false;
+        final MovePicker movePicker = movePicker(ply);
+        if (inCheck)
+            movePicker.init(board, PackedMove.NULL_MOVE, ply);
+        else
+            movePicker.initCaptures(board, ply);
+        int move;
+        while ((move = movePicker.next()) != PackedMove.NULL_MOVE) {
+            if (!inCheck && standPat + MoveOrdering.materialGain(move) * PAWN_SCORE + DELTA_MARGIN <= alfa)
+                continue;
+            if (board.makeMove(move)) {
+                hasLegalMove = true;
+                final int currentValue = -quiescence(board, -beta, -alfa);
+                board.unmakeMove();
+                if (isStopped())
+                    return 0;
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
+                    if (currentValue > alfa)
+                        alfa = currentValue;
+                    if (alfa >= beta)
+                        break;
+                }
             }
         }
-        return minValue;
+        if (inCheck && !hasLegalMove)
+            return terminalScore(board);
+        return bestValue;
     }
 
-    private static boolean isEndGameScenario(final Board board) {
-        return board.currentPlayer().isInCheckMate() || board.currentPlayer().isInStaleMate();
+    //the move just made scored for the side that made it. Only the first move gets the whole window, the rest a
+    //null window around alfa and the whole one again if they turn out better
+    private int searchChild(final MutableBoard board, final int depth, final int alfa, final int beta,
+                            final boolean isFirstMove) {
+        if (isFirstMove)
+            return -principalVariationSearch(board, depth - 1, -beta, -alfa);
+        final int nullWindowValue = -principalVariationSearch(board, depth - 1, -alfa - 1, -alfa);
+        if (nullWindowValue > alfa && nullWindowValue < beta && !isStopped())
+            return -principalVariationSearch(board, depth - 1, -beta, -alfa);
+        return nullWindowValue;
     }
 
-    public int max(Board board, int depth, int alfa, int beta) {
-        calculatedMoves++;
-        if (depth == 0 || this.isEndGameScenario(board))
-            return this.boardEvaluator.evaluate(board, depth);
-        int maxValue = Integer.MIN_VALUE;
-        for (var move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = min(moveTransition.getTransitionBoard(), depth - 1, alfa, beta);
-                if (currentValue >= maxValue)
-                    maxValue = currentValue;
-                if (alfa < maxValue)
-                    alfa = maxValue;
-                if (beta <= alfa)
-                    break;
-            }
+    //the evaluator scores from white's side
+    private int evaluate(final MutableBoard board) {
+        final int score = this.boardEvaluator.evaluate(board, 0);
+        return board.getSideToMove().isWhite() ? score : -score;
+    }
+
+    //checkmate or stalemate of the side to move
+    private static int terminalScore(final MutableBoard board) {
+        return board.isInCheck() ? -MATE_SCORE + board.getPly() : 0;
+    }
+
+    private void checkLimits() {
+        reportNodes();
+    }
+
+    private static int bound(final int value, final int alfa, final int beta) {
+        if (value <= alfa)
+            return UPPER_BOUND;
+        if (value >= beta)
+            return LOWER_BOUND;
+        return EXACT;
+    }
+
+    //mate scores count plies from the root, the table keeps them counted from the node so they stay right when the
+    //position comes up at another ply
+    private static int scoreToTable(final int score, final int ply) {
+        if (score >= MATE_BOUND)
+            return score + ply;
+        if (score <= -MATE_BOUND)
+            return score - ply;
+        return score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply) {
+        if (score >= MATE_BOUND)
+            return score - ply;
+        if (score <= -MATE_BOUND)
+            return score + ply;
+        return score;
+    }
+
+    private MoveList moveList(final int ply) {
+        if (this.moveLists[ply] == null) {
+            this.moveLists[ply] = new MoveList();
+        }
+        return this.moveLists[ply];
+    }
+
+    private MovePicker movePicker(final int ply) {
+        if (this.movePickers[ply] == null) {
+            this.movePickers[ply] = new MovePicker(this.moveOrdering);
         }
-        return maxValue;
+        return this.movePickers[ply];
     }
 }
@@ -1,8 +1,11 @@
 package com.chess.engine.player.algorithm;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.MutableBoard;
 
 public interface BoardEvaluator {
 
     int evaluate(Board board, int depth);
+
+    int evaluate(MutableBoard board, int depth);
 }
@@ -0,0 +1,93 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+
+//searches one ply deeper at a time until a limit is hit, so there is always the move of the deepest finished
+//iteration to play. Each iteration starts with the previous best move and the transposition table it filled
+public class IterativeDeepening implements MoveStrategy {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private SearchLimits searchLimits;
+    private final RootSearch rootSearch;
+
+    public IterativeDeepening(final SearchLimits searchLimits) {
+        this(searchLimits, new TranspositionTable());
+    }
+
+    public IterativeDeepening(final SearchLimits searchLimits, final TranspositionTable transpositionTable) {
+        this(searchLimits, transpositionTable, 1);
+    }
+
+    //more than one thread splits the root moves between them
+    public IterativeDeepening(final SearchLimits searchLimits, final TranspositionTable transpositionTable,
+                              final int threads) {
+        this(searchLimits, transpositionTable, threads > 1 ? SearchMode.ROOT_SPLIT : SearchMode.SINGLE_THREAD, threads);
+    }
+
+    public IterativeDeepening(final SearchLimits searchLimits, final TranspositionTable transpositionTable,
+                              final SearchMode searchMode, final int threads) {
+        this.searchLimits = searchLimits;
+        this.rootSearch = searchMode.createRootSearch(searchLimits.getMaxDepth(), threads, transpositionTable);
+    }
+
+    //asks a running search to finish, it returns the best move found so far
+    public void stop() {
+        this.rootSearch.stop();
+    }
+
+    //the same search, and so the same table and threads, can play a whole game under changing limits
+    public void setSearchLimits(final SearchLimits searchLimits) {
+        this.searchLimits = searchLimits;
+    }
+
+    //shuts down the threads of a parallel search once it is no longer needed
+    public void close() {
+        this.rootSearch.close();
+    }
+
+    public void setRootMoveOrdering(final RootMoveOrdering rootMoveOrdering) {
+        this.rootSearch.setRootMoveOrdering(rootMoveOrdering);
+    }
+
+    //nodes of the last search over all its threads
+    public long getNodeCount() {
+        return this.rootSearch.getNodeCount();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.nanoTime();
+        final long timeBudget = this.searchLimits.getTimeBudgetMillis();
+        final long deadline = timeBudget == Long.MAX_VALUE ? Long.MAX_VALUE : startTime + timeBudget * NANOS_PER_MILLI;
+        final MutableBoard searchBoard = new MutableBoard(board);
+        this.rootSearch.startSearch(deadline, this.searchLimits.getMaxNodes());
+
+        int bestMove = PackedMove.NULL_MOVE;
+        for (int depth = 1; depth <= this.searchLimits.getMaxDepth(); depth++) {
+            final int move = this.rootSearch.search(searchBoard, depth, bestMove);
+            if (this.rootSearch.isStopped()) {
+                //a cut short iteration only counts when none finished before it
+                if (bestMove == PackedMove.NULL_MOVE) {
+                    bestMove = move;
+                }
+                break;
+            }
+            bestMove = move;
+            final long elapsed = (System.nanoTime() - startTime) / NANOS_PER_MILLI;
+            System.out.println("depth " + depth + " score " + this.rootSearch.getLastScore() + " nodes " +
+                    this.rootSearch.getNodeCount() + " time " + elapsed + "ms best " + PackedMove.toString(move));
+            //no legal move, or the next iteration would not finish in the time that is left
+            if (move == PackedMove.NULL_MOVE || timeBudget != Long.MAX_VALUE && elapsed > timeBudget / 2) {
+                break;
+            }
+        }
+        if (bestMove == PackedMove.NULL_MOVE) {
+            return null;
+        }
+        return PackedMove.toMove(board, bestMove);
+    }
+}
@@ -0,0 +1,128 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+//lazy smp: helper threads search the same root as the main thread, each starting on another root move and every
+//other one a ply deeper, so they run ahead into lines the main search reaches later and leave their results in the
+//shared transposition table. Only the main thread's move is played, the helpers stop as soon as it is found
+public class LazySmpAlfaBeta implements MoveStrategy, RootSearch {
+
+    private final int depth;
+    private final TranspositionTable transpositionTable;
+    private final AlfaBeta mainSearch;
+    private final AlfaBeta[] helperSearches;
+    private final ForkJoinPool pool;
+    private SearchControl searchControl;
+
+    public LazySmpAlfaBeta(final int depth, final int threads) {
+        this(depth, threads, new TranspositionTable());
+    }
+
+    public LazySmpAlfaBeta(final int depth, final int threads, final TranspositionTable transpositionTable) {
+        if (threads <= 0) {
+            throw new RuntimeException("Invalid thread count: " + threads);
+        }
+        this.depth = depth;
+        this.transpositionTable = transpositionTable;
+        this.mainSearch = new AlfaBeta(depth, transpositionTable);
+        //the main search runs on the calling thread, the pool only holds the helpers
+        this.helperSearches = new AlfaBeta[threads - 1];
+        for (int i = 0; i < this.helperSearches.length; i++) {
+            this.helperSearches[i] = new AlfaBeta(depth, transpositionTable);
+            this.helperSearches[i].setRootMoveOffset(i + 1);
+        }
+        this.pool = threads > 1 ? new ForkJoinPool(threads - 1) : null;
+        this.searchControl = new SearchControl(Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        startSearch(Long.MAX_VALUE, Long.MAX_VALUE);
+        final int bestMove = search(new MutableBoard(board), this.depth, PackedMove.NULL_MOVE);
+        System.out.println((System.currentTimeMillis() - startTime) + " calculated moves: " + getNodeCount() +
+                " threads: " + getThreads());
+        if (bestMove == PackedMove.NULL_MOVE) {
+            return null;
+        }
+        return PackedMove.toMove(board, bestMove);
+    }
+
+    @Override
+    public void startSearch(final long deadline, final long maxNodes) {
+        this.searchControl = new SearchControl(deadline, maxNodes);
+        this.transpositionTable.newSearch();
+        this.mainSearch.newSearch(this.searchControl);
+        for (final AlfaBeta search : this.helperSearches) {
+            search.newSearch(this.searchControl);
+        }
+    }
+
+    @Override
+    public int search(final MutableBoard board, final int depth, final int firstMove) {
+        //stopped when the main search is done, or with the whole search
+        final SearchControl helperControl = new SearchControl(this.searchControl);
+        final Board rootBoard = board.toBoard();
+        final List<ForkJoinTask<?>> helpers = new ArrayList<>();
+        for (int i = 0; i < this.helperSearches.length; i++) {
+            final AlfaBeta helper = this.helperSearches[i];
+            final int helperDepth = depth + i % 2;
+            helper.joinSearch(helperControl);
+            helpers.add(this.pool.submit(() -> {
+                helper.search(new MutableBoard(rootBoard), helperDepth, firstMove);
+            }));
+        }
+        final int bestMove = this.mainSearch.search(board, depth, firstMove);
+        helperControl.stop();
+        //the helpers reuse their move lists in the next iteration
+        for (final ForkJoinTask<?> helper : helpers) {
+            helper.join();
+        }
+        return bestMove;
+    }
+
+    //only the main search picks the move, the helpers keep their own orders
+    @Override
+    public void setRootMoveOrdering(final RootMoveOrdering rootMoveOrdering) {
+        this.mainSearch.setRootMoveOrdering(rootMoveOrdering);
+    }
+
+    @Override
+    public void stop() {
+        this.searchControl.stop();
+    }
+
+    @Override
+    public boolean isStopped() {
+        return this.searchControl.isStopped();
+    }
+
+    @Override
+    public int getLastScore() {
+        return this.mainSearch.getLastScore();
+    }
+
+    @Override
+    public long getNodeCount() {
+        return this.searchControl.getNodes();
+    }
+
+    @Override
+    public void close() {
+        if (this.pool != null) {
+            this.pool.shutdown();
+        }
+    }
+
+    public int getThreads() {
+        return this.helperSearches.length + 1;
+    }
+}
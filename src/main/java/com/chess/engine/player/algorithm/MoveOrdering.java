@@ -0,0 +1,110 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//the order moves are tried in below the root: captures and promotions by most valuable victim, then least valuable
+//attacker, then the two killer moves of the ply, then the quiet moves by their history of beta cutoffs. Killers and
+//history are only filled from quiet moves, captures order well enough by themselves. One per searching thread
+final class MoveOrdering {
+
+    private static final int CAPTURE_SCORE = 2_000_000;
+    private static final int KILLER_SCORE = 1_000_000;
+    //above the most valuable attacker, so the victim always decides first
+    private static final int VICTIM_WEIGHT = 1024;
+    //history is halved when an entry would reach the killers
+    private static final int MAX_HISTORY = KILLER_SCORE / 2;
+    static final int KILLERS_PER_PLY = 2;
+
+    //indexed like BitBoard.pieceIndex
+    private static final int[] PIECE_VALUES = createPieceValues();
+    private static final int QUEEN_VALUE = PieceType.QUEEN.getPieceValue();
+    private static final int PAWN_VALUE = PieceType.PAWN.getPieceValue();
+
+    private final int[][] killers;
+    private final int[][] history;
+
+    MoveOrdering() {
+        this.killers = new int[MutableBoard.MAX_PLY][KILLERS_PER_PLY];
+        this.history = new int[2 * BitBoard.NUM_PIECE_TYPES][BoardUtils.NUM_TILES];
+    }
+
+    //killers belong to the positions of one search, the history is kept but counts for less
+    void newSearch() {
+        for (final int[] plyKillers : this.killers) {
+            plyKillers[0] = PackedMove.NULL_MOVE;
+            plyKillers[1] = PackedMove.NULL_MOVE;
+        }
+        ageHistory();
+    }
+
+    int getKiller(final int ply, final int slot) {
+        return this.killers[ply][slot];
+    }
+
+    //a quiet move refuted the opponent's last move at ply, deeper cutoffs count for more
+    void recordCutoff(final int move, final int ply, final int depth) {
+        if (isTactical(move)) {
+            return;
+        }
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        final int piece = PackedMove.getMovedPiece(move);
+        final int destination = PackedMove.getDestinationCoordinate(move);
+        this.history[piece][destination] += depth * depth;
+        if (this.history[piece][destination] >= MAX_HISTORY) {
+            ageHistory();
+        }
+    }
+
+    //higher is tried earlier
+    int score(final int move, final int ply) {
+        if (isTactical(move)) {
+            final int victimValue = PackedMove.isAttack(move) ? PIECE_VALUES[PackedMove.getCapturedPiece(move)] : 0;
+            //a promotion gains a queen on top of whatever it takes
+            final int promotionValue = PackedMove.isPromotion(move) ? QUEEN_VALUE : 0;
+            return CAPTURE_SCORE + (victimValue + promotionValue) * VICTIM_WEIGHT -
+                    PIECE_VALUES[PackedMove.getMovedPiece(move)];
+        }
+        if (move == this.killers[ply][0]) {
+            return KILLER_SCORE + 1;
+        }
+        if (move == this.killers[ply][1]) {
+            return KILLER_SCORE;
+        }
+        return this.history[PackedMove.getMovedPiece(move)][PackedMove.getDestinationCoordinate(move)];
+    }
+
+    //the most material in pawns the move can win: what it takes, plus a queen for a pawn if it promotes
+    static int materialGain(final int move) {
+        final int victimValue = PackedMove.isAttack(move) ? PIECE_VALUES[PackedMove.getCapturedPiece(move)] : 0;
+        return victimValue + (PackedMove.isPromotion(move) ? QUEEN_VALUE - PAWN_VALUE : 0);
+    }
+
+    private void ageHistory() {
+        for (final int[] pieceHistory : this.history) {
+            for (int i = 0; i < pieceHistory.length; i++) {
+                pieceHistory[i] /= 2;
+            }
+        }
+    }
+
+    static boolean isTactical(final int move) {
+        return PackedMove.isAttack(move) || PackedMove.isPromotion(move);
+    }
+
+    private static int[] createPieceValues() {
+        final int[] values = new int[2 * BitBoard.NUM_PIECE_TYPES];
+        for (final PieceType pieceType : PieceType.values()) {
+            values[pieceType.ordinal()] = pieceType.getPieceValue();
+            values[BitBoard.NUM_PIECE_TYPES + pieceType.ordinal()] = pieceType.getPieceValue();
+        }
+        return values;
+    }
+}
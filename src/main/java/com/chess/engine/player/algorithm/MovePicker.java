@@ -0,0 +1,139 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+
+//hands out the moves of one search node a stage at a time: the hash move before anything is generated, then the
+//captures best first, then the killers, and only then the quiet moves. Most nodes cut off in the first stages and
+//never generate their quiet moves. Each stage picks its best remaining move when asked instead of sorting up front
+final class MovePicker {
+
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int CAPTURES = 2;
+    private static final int KILLERS = 3;
+    private static final int GENERATE_QUIETS = 4;
+    private static final int QUIETS = 5;
+    private static final int DONE = 6;
+
+    private final MoveOrdering moveOrdering;
+    private final MoveList moves;
+    private final int[] scores;
+    private MutableBoard board;
+    private int ply;
+    private int hashMove;
+    //quiescence search only wants the captures
+    private boolean capturesOnly;
+    private int stage;
+    private int index;
+
+    MovePicker(final MoveOrdering moveOrdering) {
+        this.moveOrdering = moveOrdering;
+        this.moves = new MoveList();
+        this.scores = new int[MoveList.MAX_MOVES];
+    }
+
+    void init(final MutableBoard board, final int hashMove, final int ply) {
+        this.board = board;
+        this.ply = ply;
+        this.hashMove = hashMove;
+        this.capturesOnly = false;
+        this.stage = HASH_MOVE;
+        this.index = 0;
+    }
+
+    void initCaptures(final MutableBoard board, final int ply) {
+        this.board = board;
+        this.ply = ply;
+        this.hashMove = PackedMove.NULL_MOVE;
+        this.capturesOnly = true;
+        this.stage = GENERATE_CAPTURES;
+        this.index = 0;
+    }
+
+    //the next pseudo legal move, PackedMove.NULL_MOVE once every move was handed out
+    int next() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = GENERATE_CAPTURES;
+                    if (this.board.isPseudoLegal(this.hashMove)) {
+                        return this.hashMove;
+                    }
+                    break;
+                case GENERATE_CAPTURES:
+                    this.board.generateCaptures(this.moves);
+                    scoreMoves();
+                    this.stage = CAPTURES;
+                    break;
+                case CAPTURES: {
+                    final int move = pickBest();
+                    if (move != PackedMove.NULL_MOVE) {
+                        return move;
+                    }
+                    this.stage = this.capturesOnly ? DONE : KILLERS;
+                    this.index = 0;
+                    break;
+                }
+                case KILLERS:
+                    if (this.index == MoveOrdering.KILLERS_PER_PLY) {
+                        this.stage = GENERATE_QUIETS;
+                        break;
+                    }
+                    final int killer = this.moveOrdering.getKiller(this.ply, this.index++);
+                    if (killer != this.hashMove && this.board.isPseudoLegal(killer)) {
+                        return killer;
+                    }
+                    break;
+                case GENERATE_QUIETS:
+                    this.board.generateQuiets(this.moves);
+                    scoreMoves();
+                    this.stage = QUIETS;
+                    break;
+                case QUIETS: {
+                    final int move = pickBest();
+                    if (move != PackedMove.NULL_MOVE) {
+                        return move;
+                    }
+                    this.stage = DONE;
+                    break;
+                }
+                default:
+                    return PackedMove.NULL_MOVE;
+            }
+        }
+    }
+
+    private void scoreMoves() {
+        for (int i = 0; i < this.moves.size(); i++) {
+            this.scores[i] = this.moveOrdering.score(this.moves.get(i), this.ply);
+        }
+        this.index = 0;
+    }
+
+    //selection sort one step at a time, skipping the moves an earlier stage already handed out
+    private int pickBest() {
+        while (this.index < this.moves.size()) {
+            int best = this.index;
+            for (int i = this.index + 1; i < this.moves.size(); i++) {
+                if (this.scores[i] > this.scores[best]) {
+                    best = i;
+                }
+            }
+            final int move = this.moves.get(best);
+            this.moves.set(best, this.moves.get(this.index));
+            this.scores[best] = this.scores[this.index];
+            this.index++;
+            if (move != this.hashMove && !isKiller(move)) {
+                return move;
+            }
+        }
+        return PackedMove.NULL_MOVE;
+    }
+
+    private boolean isKiller(final int move) {
+        return this.stage == QUIETS && (move == this.moveOrdering.getKiller(this.ply, 0) ||
+                move == this.moveOrdering.getKiller(this.ply, 1));
+    }
+}
@@ -0,0 +1,203 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.chess.engine.player.algorithm.TranspositionTable.getMove;
+
+//alfa beta with the root moves spread over a fork join pool. The first move is searched alone to get a score to
+//beat, then every other root move is a task searched against the best score so far, which the tasks share and raise
+//as they finish. Each task has its own search board and AlfaBeta, the transposition table is shared
+public class ParallelAlfaBeta implements MoveStrategy, RootSearch {
+
+    private final int depth;
+    private final TranspositionTable transpositionTable;
+    private final ForkJoinPool pool;
+    private final AlfaBeta mainSearch;
+    private SearchControl searchControl;
+    private RootMoveOrdering rootMoveOrdering;
+    private int lastScore;
+
+    public ParallelAlfaBeta(final int depth, final int threads) {
+        this(depth, threads, new TranspositionTable());
+    }
+
+    public ParallelAlfaBeta(final int depth, final int threads, final TranspositionTable transpositionTable) {
+        if (threads <= 0) {
+            throw new RuntimeException("Invalid thread count: " + threads);
+        }
+        this.depth = depth;
+        this.transpositionTable = transpositionTable;
+        this.pool = new ForkJoinPool(threads);
+        this.mainSearch = new AlfaBeta(depth, transpositionTable);
+        this.searchControl = new SearchControl(Long.MAX_VALUE, Long.MAX_VALUE);
+        this.rootMoveOrdering = RootMoveOrdering.GENERATION_ORDER;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        startSearch(Long.MAX_VALUE, Long.MAX_VALUE);
+        final int bestMove = search(new MutableBoard(board), this.depth, PackedMove.NULL_MOVE);
+        System.out.println((System.currentTimeMillis() - startTime) + " calculated moves: " + getNodeCount() +
+                " threads: " + this.pool.getParallelism());
+        if (bestMove == PackedMove.NULL_MOVE) {
+            return null;
+        }
+        return PackedMove.toMove(board, bestMove);
+    }
+
+    @Override
+    public void startSearch(final long deadline, final long maxNodes) {
+        this.searchControl = new SearchControl(deadline, maxNodes);
+        this.transpositionTable.newSearch();
+        this.mainSearch.newSearch(this.searchControl);
+    }
+
+    @Override
+    public int search(final MutableBoard board, final int depth, final int firstMove) {
+        final MoveList moves = new MoveList();
+        board.generateMoves(moves);
+        this.rootMoveOrdering.order(board, moves);
+        moves.moveToFront(getMove(this.transpositionTable.probe(board.getZobristKey())));
+        moves.moveToFront(firstMove);
+
+        int i = 0;
+        while (i < moves.size() && !board.makeMove(moves.get(i))) {
+            i++;
+        }
+        if (i == moves.size()) {
+            return PackedMove.NULL_MOVE;
+        }
+        final int firstScore = -this.mainSearch.principalVariationSearch(board, depth - 1, -AlfaBeta.INFINITY,
+                AlfaBeta.INFINITY);
+        board.unmakeMove();
+        this.mainSearch.reportNodes();
+        if (isStopped()) {
+            //unfinished, but a move to play all the same
+            return moves.get(i);
+        }
+
+        final RootResult result = new RootResult(moves.get(i), firstScore);
+        final Board rootBoard = board.toBoard();
+        final List<RootMoveTask> tasks = new ArrayList<>();
+        for (i++; i < moves.size(); i++) {
+            tasks.add(new RootMoveTask(rootBoard, moves.get(i), depth, result));
+        }
+        this.pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        this.lastScore = board.getSideToMove().isWhite() ? result.getScore() : -result.getScore();
+        return result.getMove();
+    }
+
+    @Override
+    public void setRootMoveOrdering(final RootMoveOrdering rootMoveOrdering) {
+        this.rootMoveOrdering = rootMoveOrdering;
+    }
+
+    @Override
+    public void stop() {
+        this.searchControl.stop();
+    }
+
+    @Override
+    public boolean isStopped() {
+        return this.searchControl.isStopped();
+    }
+
+    @Override
+    public int getLastScore() {
+        return this.lastScore;
+    }
+
+    @Override
+    public long getNodeCount() {
+        return this.searchControl.getNodes();
+    }
+
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    public int getThreads() {
+        return this.pool.getParallelism();
+    }
+
+    //the best root move so far and its score for the side to move
+    private static final class RootResult {
+
+        private volatile int move;
+        private volatile int score;
+
+        RootResult(final int move, final int score) {
+            this.move = move;
+            this.score = score;
+        }
+
+        int getMove() {
+            return this.move;
+        }
+
+        int getScore() {
+            return this.score;
+        }
+
+        synchronized void offer(final int move, final int score) {
+            if (score > this.score) {
+                this.score = score;
+                this.move = move;
+            }
+        }
+    }
+
+    private final class RootMoveTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Board rootBoard;
+        private final int move;
+        private final int depth;
+        private final RootResult result;
+
+        RootMoveTask(final Board rootBoard, final int move, final int depth, final RootResult result) {
+            this.rootBoard = rootBoard;
+            this.move = move;
+            this.depth = depth;
+            this.result = result;
+        }
+
+        @Override
+        protected void compute() {
+            if (isStopped()) {
+                return;
+            }
+            final MutableBoard board = new MutableBoard(this.rootBoard);
+            if (!board.makeMove(this.move)) {
+                return;
+            }
+            //a search per task rather than per pool thread, the pool retires and starts threads between moves
+            final AlfaBeta search = new AlfaBeta(this.depth, transpositionTable);
+            search.newSearch(searchControl);
+            //only a score better than the best so far matters, anything else may come back as a bound
+            final int bound = this.result.getScore();
+            final int score = -search.principalVariationSearch(board, this.depth - 1, -AlfaBeta.INFINITY, -bound);
+            search.reportNodes();
+            if (!isStopped()) {
+                this.result.offer(this.move, score);
+            }
+        }
+    }
+}
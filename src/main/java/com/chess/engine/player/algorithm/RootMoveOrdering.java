@@ -0,0 +1,15 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+
+//puts the root moves in the order the search tries them before the hash move and the previous best move go to the
+//front. A root move only replaces the best one with a strictly higher score, so of equally good moves the one
+//ordered first is played
+public interface RootMoveOrdering {
+
+    RootMoveOrdering GENERATION_ORDER = (board, moves) -> {
+    };
+
+    void order(MutableBoard board, MoveList moves);
+}
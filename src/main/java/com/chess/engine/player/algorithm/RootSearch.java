@@ -0,0 +1,30 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.MutableBoard;
+
+//a search of the root to a fixed depth, what IterativeDeepening runs once per iteration
+interface RootSearch {
+
+    //clears the counts of the last search and sets the limits of the next ones, deadline in System.nanoTime terms
+    void startSearch(long deadline, long maxNodes);
+
+    //the best root move at depth, firstMove is tried before the rest. A search stopped part way returns the best of
+    //the root moves it finished, or the first legal one if it finished none. PackedMove.NULL_MOVE only when the side
+    //to move has no legal move
+    int search(MutableBoard board, int depth, int firstMove);
+
+    //orders the root moves before the hash move and firstMove go to the front
+    void setRootMoveOrdering(RootMoveOrdering rootMoveOrdering);
+
+    void stop();
+
+    boolean isStopped();
+
+    //score of the move the last search returned, from white's side
+    int getLastScore();
+
+    long getNodeCount();
+
+    //lets go of the threads of a parallel search, it cannot search after this
+    void close();
+}
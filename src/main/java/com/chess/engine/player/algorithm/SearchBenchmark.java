@@ -0,0 +1,83 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.FenUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.perft.Perft;
+
+//time to depth of the iterative deepening search, the measure that counts for a parallel search: more nodes per
+//second only help when the threads reach the depth sooner. Usage:
+//  SearchBenchmark <depth> [fen] [--mode=single_thread|root_split|lazy_smp] [--threads=n] [--hash=mb] [--scaling]
+//--scaling runs 1, 2, 4, 8 and 16 threads and compares each with the single thread time
+public final class SearchBenchmark {
+
+    private static final int[] SCALING_THREADS = {1, 2, 4, 8, 16};
+
+    private SearchBenchmark() {
+        throw new RuntimeException("Not instantiable");
+    }
+
+    public static void main(final String[] args) {
+        if (args.length == 0) {
+            System.out.println("usage: SearchBenchmark <depth> [fen] [--mode=single_thread|root_split|lazy_smp] " +
+                    "[--threads=n] [--hash=mb] [--scaling]");
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        SearchMode searchMode = SearchMode.LAZY_SMP;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int hashSize = TranspositionTable.DEFAULT_SIZE_IN_MB;
+        boolean scaling = false;
+        final StringBuilder fen = new StringBuilder();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--mode=")) {
+                searchMode = SearchMode.valueOf(args[i].substring("--mode=".length()).toUpperCase());
+            } else if (args[i].startsWith("--threads=")) {
+                threads = Integer.parseInt(args[i].substring("--threads=".length()));
+            } else if (args[i].startsWith("--hash=")) {
+                hashSize = Integer.parseInt(args[i].substring("--hash=".length()));
+            } else if (args[i].equals("--scaling")) {
+                scaling = true;
+            } else {
+                fen.append(args[i]).append(' ');
+            }
+        }
+        final Board board = FenUtilities.createGameFromFEN(fen.length() == 0 ? Perft.START_POSITION : fen.toString());
+        if (!scaling) {
+            run(board, depth, searchMode, threads, hashSize, 0);
+            return;
+        }
+        //a shallower unreported run first, otherwise the single thread run also pays for the JIT warming up
+        final IterativeDeepening warmUp = createSearch(searchMode, 1, hashSize, Math.max(depth - 1, 1));
+        warmUp.execute(board);
+        warmUp.close();
+        final double singleThreadSeconds = run(board, depth, searchMode, 1, hashSize, 0);
+        for (int i = 1; i < SCALING_THREADS.length; i++) {
+            run(board, depth, searchMode, SCALING_THREADS[i], hashSize, singleThreadSeconds);
+        }
+    }
+
+    private static double run(final Board board, final int depth, final SearchMode searchMode, final int threads,
+                              final int hashSize, final double singleThreadSeconds) {
+        final IterativeDeepening search = createSearch(searchMode, threads, hashSize, depth);
+        final long startTime = System.nanoTime();
+        final Move bestMove = search.execute(board);
+        final double seconds = Math.max(System.nanoTime() - startTime, 1) / 1e9;
+        final long nodes = search.getNodeCount();
+        search.close();
+        System.out.printf("%s threads %d depth %d best %s nodes %d time %.3fs nps %.0f", searchMode, threads, depth,
+                bestMove, nodes, seconds, nodes / seconds);
+        if (singleThreadSeconds > 0) {
+            final double speedup = singleThreadSeconds / seconds;
+            System.out.printf(" speedup %.2f efficiency %.0f%%", speedup, 100 * speedup / threads);
+        }
+        System.out.println();
+        return seconds;
+    }
+
+    //each run gets a fresh table so runs do not help each other
+    private static IterativeDeepening createSearch(final SearchMode searchMode, final int threads, final int hashSize,
+                                                   final int depth) {
+        return new IterativeDeepening(SearchLimits.depth(depth), new TranspositionTable(hashSize), searchMode, threads);
+    }
+}
@@ -0,0 +1,53 @@
+package com.chess.engine.player.algorithm;
+
+import java.util.concurrent.atomic.LongAdder;
+
+//the limits of one search and whether it has to stop, shared by every thread searching it
+final class SearchControl {
+
+    private final SearchControl parent;
+    private final long deadline;
+    private final long maxNodes;
+    private final LongAdder nodes;
+    private volatile boolean stopped;
+
+    SearchControl(final long deadline, final long maxNodes) {
+        this.parent = null;
+        this.deadline = deadline;
+        this.maxNodes = maxNodes;
+        this.nodes = new LongAdder();
+    }
+
+    //a part of a search that can be stopped on its own, it also stops with the parent and counts its nodes there
+    SearchControl(final SearchControl parent) {
+        this.parent = parent;
+        this.deadline = Long.MAX_VALUE;
+        this.maxNodes = Long.MAX_VALUE;
+        this.nodes = null;
+    }
+
+    //the searching threads report their nodes in batches and find out here whether a limit has been reached
+    void addNodes(final long searchedNodes) {
+        if (this.parent != null) {
+            this.parent.addNodes(searchedNodes);
+            return;
+        }
+        this.nodes.add(searchedNodes);
+        if (this.nodes.sum() >= this.maxNodes || System.nanoTime() >= this.deadline) {
+            this.stopped = true;
+        }
+    }
+
+    //nodes reported so far by every thread of the search
+    long getNodes() {
+        return this.parent != null ? this.parent.getNodes() : this.nodes.sum();
+    }
+
+    void stop() {
+        this.stopped = true;
+    }
+
+    boolean isStopped() {
+        return this.stopped || this.parent != null && this.parent.isStopped();
+    }
+}
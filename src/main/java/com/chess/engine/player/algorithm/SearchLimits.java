@@ -0,0 +1,100 @@
+package com.chess.engine.player.algorithm;
+
+//when an iterative deepening search has to stop: a fixed time for the move, a share of the remaining clock, a depth
+//or a node count, whichever comes first. Limits left unset do not apply
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    //the rest of the clock is spread over this many moves when the game length is unknown
+    private static final int MOVES_TO_GO = 30;
+    //kept back from the clock for getting the move onto the board
+    private static final long SAFETY_MARGIN_MILLIS = 50;
+
+    private final long moveTimeMillis;
+    private final long remainingTimeMillis;
+    private final long incrementMillis;
+    private final int maxDepth;
+    private final long maxNodes;
+
+    private SearchLimits(final Builder builder) {
+        this.moveTimeMillis = builder.moveTimeMillis;
+        this.remainingTimeMillis = builder.remainingTimeMillis;
+        this.incrementMillis = builder.incrementMillis;
+        this.maxDepth = builder.maxDepth;
+        this.maxNodes = builder.maxNodes;
+    }
+
+    public static SearchLimits depth(final int maxDepth) {
+        return new Builder().setMaxDepth(maxDepth).build();
+    }
+
+    public static SearchLimits moveTime(final long moveTimeMillis) {
+        return new Builder().setMoveTime(moveTimeMillis).build();
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    //how long this move may take, Long.MAX_VALUE when only depth and nodes bound the search
+    public long getTimeBudgetMillis() {
+        long budget = Long.MAX_VALUE;
+        if (this.moveTimeMillis > 0) {
+            budget = this.moveTimeMillis;
+        }
+        if (this.remainingTimeMillis > 0) {
+            final long clockBudget = this.remainingTimeMillis / MOVES_TO_GO + this.incrementMillis * 3 / 4;
+            budget = Math.min(budget, Math.min(clockBudget, Math.max(this.remainingTimeMillis - SAFETY_MARGIN_MILLIS, 1)));
+        }
+        return budget;
+    }
+
+    @Override
+    public String toString() {
+        return "move time " + this.moveTimeMillis + "ms, clock " + this.remainingTimeMillis + "+" + this.incrementMillis +
+                "ms, depth " + this.maxDepth + ", nodes " + (this.maxNodes == Long.MAX_VALUE ? "-" : this.maxNodes);
+    }
+
+    public static class Builder {
+
+        long moveTimeMillis;
+        long remainingTimeMillis;
+        long incrementMillis;
+        int maxDepth = MAX_DEPTH;
+        long maxNodes = Long.MAX_VALUE;
+
+        public Builder setMoveTime(final long moveTimeMillis) {
+            this.moveTimeMillis = moveTimeMillis;
+            return this;
+        }
+
+        public Builder setClock(final long remainingTimeMillis, final long incrementMillis) {
+            this.remainingTimeMillis = remainingTimeMillis;
+            this.incrementMillis = incrementMillis;
+            return this;
+        }
+
+        public Builder setMaxDepth(final int maxDepth) {
+            this.maxDepth = Math.min(maxDepth, MAX_DEPTH);
+            return this;
+        }
+
+        public Builder setMaxNodes(final long maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        public SearchLimits build() {
+            if (this.moveTimeMillis < 0 || this.remainingTimeMillis < 0 || this.incrementMillis < 0 ||
+                    this.maxDepth < 1 || this.maxNodes < 1) {
+                throw new RuntimeException("Invalid search limits: " + new SearchLimits(this));
+            }
+            return new SearchLimits(this);
+        }
+    }
+}
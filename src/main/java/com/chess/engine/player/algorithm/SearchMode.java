@@ -0,0 +1,39 @@
+package com.chess.engine.player.algorithm;
+
+//how IterativeDeepening spreads a search over threads, all of them share one transposition table
+public enum SearchMode {
+
+    SINGLE_THREAD("Single Thread") {
+        @Override
+        RootSearch createRootSearch(final int maxDepth, final int threads, final TranspositionTable transpositionTable) {
+            return new AlfaBeta(maxDepth, transpositionTable);
+        }
+    },
+    //the root moves split between the threads, see ParallelAlfaBeta
+    ROOT_SPLIT("Root Split") {
+        @Override
+        RootSearch createRootSearch(final int maxDepth, final int threads, final TranspositionTable transpositionTable) {
+            return new ParallelAlfaBeta(maxDepth, threads, transpositionTable);
+        }
+    },
+    //every thread searches the whole root and they help each other through the table, see LazySmpAlfaBeta
+    LAZY_SMP("Lazy SMP") {
+        @Override
+        RootSearch createRootSearch(final int maxDepth, final int threads, final TranspositionTable transpositionTable) {
+            return new LazySmpAlfaBeta(maxDepth, threads, transpositionTable);
+        }
+    };
+
+    private final String modeName;
+
+    SearchMode(final String modeName) {
+        this.modeName = modeName;
+    }
+
+    abstract RootSearch createRootSearch(int maxDepth, int threads, TranspositionTable transpositionTable);
+
+    @Override
+    public String toString() {
+        return this.modeName;
+    }
+}
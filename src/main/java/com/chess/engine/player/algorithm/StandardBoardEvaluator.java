@@ -1,18 +1,30 @@
 package com.chess.engine.player.algorithm;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
-import com.chess.engine.player.Player;
+import com.chess.engine.board.MutableBoard;
 
+//material in hundredths of a pawn plus the piece square bonuses, both read from the totals the boards keep
 public final class StandardBoardEvaluator implements BoardEvaluator {
 
+    private static final int PAWN_SCORE = 100;
+
     @Override
     public int evaluate(final Board board, final int depth) {
-        return scorePlayer(board, board.whitePlayer(), depth) -
-                scorePlayer(board, board.blackPlayer(), depth);
+        return scoreAlliance(board, Alliance.WHITE) - scoreAlliance(board, Alliance.BLACK);
+    }
+
+    @Override
+    public int evaluate(final MutableBoard board, final int depth) {
+        return scoreAlliance(board, Alliance.WHITE) - scoreAlliance(board, Alliance.BLACK);
+    }
+
+    private int scoreAlliance(final Board board, final Alliance alliance) {
+        return board.getMaterial(alliance) * PAWN_SCORE + board.getPieceSquareScore(alliance);
     }
 
-    private int scorePlayer(final Board board, final Player player, final int depth) {
-        return player.getPicesValue();
+    private int scoreAlliance(final MutableBoard board, final Alliance alliance) {
+        return board.getMaterial(alliance) * PAWN_SCORE + board.getPieceSquareScore(alliance);
     }
 
 
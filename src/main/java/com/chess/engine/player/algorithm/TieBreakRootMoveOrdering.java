@@ -0,0 +1,90 @@
+package com.chess.engine.player.algorithm;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//prefers, in this order, moving a piece that has not moved yet, moving a pawn, capturing, and moving another kind
+//of piece than the last move did, so the engine develops and does not shuffle one piece between equal positions
+//The search still puts the hash move and the previous iteration's best move in front of this order, so a tie with
+//either of them keeps that move and the tie-break only decides among the rest. The first iteration has no previous
+//best move and usually no hash move for the root, so its choice among equal moves mostly comes from here and is
+//carried into the deeper iterations as the previous best move
+public final class TieBreakRootMoveOrdering implements RootMoveOrdering {
+
+    private static final int UNMOVED_PIECE = 8;
+    private static final int PAWN_MOVE = 4;
+    private static final int CAPTURE = 2;
+    private static final int OTHER_PIECE_TYPE = 1;
+
+    //a piece still on a square it starts the game on is taken as not moved yet
+    private static final long[] START_SQUARES = createStartSquares();
+
+    private final int lastMovedPieceType;
+
+    //lastMove is the previous move of the side to move as the GUI logged it, null when it has none
+    public TieBreakRootMoveOrdering(final Move lastMove) {
+        this(PackedMove.fromMove(lastMove));
+    }
+
+    public TieBreakRootMoveOrdering(final int lastMove) {
+        this.lastMovedPieceType = lastMove != PackedMove.NULL_MOVE ?
+                PackedMove.getMovedPiece(lastMove) % BitBoard.NUM_PIECE_TYPES : -1;
+    }
+
+    @Override
+    public void order(final MutableBoard board, final MoveList moves) {
+        final int[] priorities = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            priorities[i] = priority(moves.get(i));
+        }
+        //insertion sort keeps the generation order among moves of the same priority
+        for (int i = 1; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            final int priority = priorities[i];
+            int j = i - 1;
+            while (j >= 0 && priorities[j] < priority) {
+                moves.set(j + 1, moves.get(j));
+                priorities[j + 1] = priorities[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            priorities[j + 1] = priority;
+        }
+    }
+
+    private int priority(final int move) {
+        final int movedPiece = PackedMove.getMovedPiece(move);
+        final int pieceType = movedPiece % BitBoard.NUM_PIECE_TYPES;
+        int priority = 0;
+        if ((START_SQUARES[movedPiece] & BitBoard.squareMask(PackedMove.getCurrentCoordinate(move))) != 0) {
+            priority |= UNMOVED_PIECE;
+        }
+        if (pieceType == PieceType.PAWN.ordinal()) {
+            priority |= PAWN_MOVE;
+        }
+        if (PackedMove.isAttack(move)) {
+            priority |= CAPTURE;
+        }
+        if (this.lastMovedPieceType >= 0 && pieceType != this.lastMovedPieceType) {
+            priority |= OTHER_PIECE_TYPE;
+        }
+        return priority;
+    }
+
+    private static long[] createStartSquares() {
+        final BitBoard standardBoard = Board.createStandardBoard().getBitBoard();
+        final long[] startSquares = new long[2 * BitBoard.NUM_PIECE_TYPES];
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                startSquares[BitBoard.pieceIndex(alliance, pieceType)] = standardBoard.getPieces(alliance, pieceType);
+            }
+        }
+        return startSquares;
+    }
+}
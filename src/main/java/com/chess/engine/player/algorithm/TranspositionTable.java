@@ -0,0 +1,146 @@
+package com.chess.engine.player.algorithm;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+//search results by Zobrist key in one flat long array. Every entry is a check word holding key ^ data followed by
+//the data word, a reader only trusts data whose check word gives back its own key, so threads can share the table
+//without locks: a torn write from another thread just looks like a miss
+public final class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_IN_MB = 16;
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    //data word: bits 0-25 packed move, 26-49 score, 50-57 depth, 58-59 bound, 60-63 search generation
+    private static final int MOVE_BITS = 26;
+    private static final int SCORE_BITS = 24;
+    private static final int DEPTH_BITS = 8;
+    private static final int BOUND_BITS = 2;
+    private static final int SCORE_SHIFT = MOVE_BITS;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + SCORE_BITS;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+    private static final int GENERATION_SHIFT = BOUND_SHIFT + BOUND_BITS;
+    private static final int SCORE_OFFSET = 1 << (SCORE_BITS - 1);
+
+    private static final int LONGS_PER_ENTRY = 2;
+    //first slot of a bucket keeps the deepest result, the second one always takes the newest, both share a cache line
+    private static final int BUCKET_SIZE = 2;
+    private static final int LONGS_PER_BUCKET = BUCKET_SIZE * LONGS_PER_ENTRY;
+
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public TranspositionTable(final int sizeInMegaBytes) {
+        if (sizeInMegaBytes <= 0) {
+            throw new RuntimeException("Transposition table size has to be positive, got " + sizeInMegaBytes);
+        }
+        final long buckets = Long.highestOneBit((long) sizeInMegaBytes * 1024 * 1024 / (LONGS_PER_BUCKET * Long.BYTES));
+        this.table = new long[(int) Math.min(buckets, 1 << 28) * LONGS_PER_BUCKET];
+        this.bucketMask = this.table.length / LONGS_PER_BUCKET - 1;
+        this.generation = 0;
+    }
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_IN_MB);
+    }
+
+    //called before each search so entries of older searches are the first to go
+    public void newSearch() {
+        this.generation = (this.generation + 1) & 0xF;
+    }
+
+    public void clear() {
+        Arrays.fill(this.table, 0L);
+        this.probes.reset();
+        this.hits.reset();
+    }
+
+    //the data word stored for the key, 0 on a miss, read it with the static getters below
+    public long probe(final long key) {
+        this.probes.increment();
+        final int index = bucketIndex(key);
+        for (int i = index; i < index + LONGS_PER_BUCKET; i += LONGS_PER_ENTRY) {
+            final long entry = this.table[i + 1];
+            if (entry != 0 && (this.table[i] ^ entry) == key) {
+                this.hits.increment();
+                return entry;
+            }
+        }
+        return 0L;
+    }
+
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        final int index = bucketIndex(key);
+        final long entry = encode(move, score, depth, bound, this.generation);
+        final long deepest = this.table[index + 1];
+        final boolean sameKey = (this.table[index] ^ deepest) == key;
+        if (sameKey || deepest == 0 || getDepth(deepest) <= depth || getGeneration(deepest) != this.generation) {
+            //keep the move of a previous result when this one has none
+            write(index, key, move == 0 && sameKey ? withMove(entry, getMove(deepest)) : entry);
+        } else {
+            final int slot = index + LONGS_PER_ENTRY;
+            final long newest = this.table[slot + 1];
+            write(slot, key, move == 0 && (this.table[slot] ^ newest) == key ? withMove(entry, getMove(newest)) : entry);
+        }
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public double getHitRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0 : (double) getHits() / probes;
+    }
+
+    public static int getMove(final long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1));
+    }
+
+    public static int getScore(final long entry) {
+        return (int) ((entry >>> SCORE_SHIFT) & ((1L << SCORE_BITS) - 1)) - SCORE_OFFSET;
+    }
+
+    public static int getDepth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & ((1L << DEPTH_BITS) - 1));
+    }
+
+    public static int getBound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & ((1L << BOUND_BITS) - 1));
+    }
+
+    private static int getGeneration(final long entry) {
+        return (int) (entry >>> GENERATION_SHIFT);
+    }
+
+    private void write(final int index, final long key, final long entry) {
+        this.table[index] = key ^ entry;
+        this.table[index + 1] = entry;
+    }
+
+    private int bucketIndex(final long key) {
+        return (int) (key & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    private static long withMove(final long entry, final int move) {
+        return (entry & ~((1L << MOVE_BITS) - 1)) | move;
+    }
+
+    private static long encode(final int move, final int score, final int depth, final int bound, final int generation) {
+        final int clampedScore = Math.max(-SCORE_OFFSET + 1, Math.min(SCORE_OFFSET - 1, score));
+        return (long) move | ((long) (clampedScore + SCORE_OFFSET) << SCORE_SHIFT) |
+                ((long) Math.min(depth, (1 << DEPTH_BITS) - 1) << DEPTH_SHIFT) | ((long) bound << BOUND_SHIFT) |
+                ((long) generation << GENERATION_SHIFT);
+    }
+}
@@ -2,6 +2,8 @@ package com.chess.gui;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.player.Player;
+import com.chess.engine.player.algorithm.SearchLimits;
+import com.chess.engine.player.algorithm.SearchMode;
 
 import javax.swing.*;
 import java.awt.*;
@@ -13,6 +15,9 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner searchDepthSpinner;
+    private JSpinner moveTimeSpinner;
+    private JComboBox<SearchMode> searchModeBox;
+    private JSpinner threadsSpinner;
     private boolean isTransmision;
 
     private static final String HUMAN_TEXT = "Human";
@@ -46,7 +51,15 @@ class GameSetup extends JDialog {
         myPanel.add(blackComputerButton);
 
         myPanel.add(new JLabel("Search"));
-        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(4, 0, Integer.MAX_VALUE, 1));
+        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(4, 1, SearchLimits.MAX_DEPTH, 1));
+        //0 leaves only the depth to stop the search, as before move times could be set
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Move Time (ms)", new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 500));
+        myPanel.add(new JLabel("Search Mode"));
+        this.searchModeBox = new JComboBox<>(SearchMode.values());
+        this.searchModeBox.setSelectedItem(SearchMode.SINGLE_THREAD);
+        myPanel.add(this.searchModeBox);
+        final int processors = Runtime.getRuntime().availableProcessors();
+        this.threadsSpinner = addLabeledSpinner(myPanel, "Threads", new SpinnerNumberModel(1, 1, Math.max(processors, 64), 1));
         final JRadioButton transmitionButton = new JRadioButton("Transmition");
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -113,4 +126,23 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer)this.searchDepthSpinner.getValue();
     }
+
+    int getMoveTime() {
+        return (Integer)this.moveTimeSpinner.getValue();
+    }
+
+    SearchMode getSearchMode() {
+        return (SearchMode)this.searchModeBox.getSelectedItem();
+    }
+
+    int getThreads() {
+        return (Integer)this.threadsSpinner.getValue();
+    }
+
+    SearchLimits getSearchLimits() {
+        return new SearchLimits.Builder()
+                .setMaxDepth(getSearchDepth())
+                .setMoveTime(getMoveTime())
+                .build();
+    }
 }
\ No newline at end of file
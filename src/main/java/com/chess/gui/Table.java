@@ -64,6 +64,12 @@ public class Table extends Observable {
     private Move lastBlackMove = null;
     private Move lastWhiteMove = null;
 
+    //kept from move to move so the transposition table and search threads are reused, rebuilt when the search mode
+    //or thread count is changed in the setup
+    private IterativeDeepening computerSearch;
+    private SearchMode computerSearchMode;
+    private int computerSearchThreads;
+
 
     public String getOldBoard() {
         return oldBoard;
@@ -114,6 +120,23 @@ public class Table extends Observable {
         return this.chessBoard;
     }
 
+    private synchronized IterativeDeepening getComputerSearch() {
+        final SearchMode searchMode = this.gameSetup.getSearchMode();
+        final int threads = this.gameSetup.getThreads();
+        if (this.computerSearch == null || searchMode != this.computerSearchMode || threads != this.computerSearchThreads) {
+            if (this.computerSearch != null) {
+                this.computerSearch.close();
+            }
+            this.computerSearch = new IterativeDeepening(this.gameSetup.getSearchLimits(), new TranspositionTable(),
+                    searchMode, threads);
+            this.computerSearchMode = searchMode;
+            this.computerSearchThreads = threads;
+        }
+        //bounded by the move time, when one is set, as well as the depth, so a deep setting need not hang the game
+        this.computerSearch.setSearchLimits(this.gameSetup.getSearchLimits());
+        return this.computerSearch;
+    }
+
     public void show() {
         Table.get().getMoveLog().clear();
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
@@ -256,13 +279,17 @@ public class Table extends Observable {
 
         @Override
         protected Move doInBackground() throws Exception {
-            final MoveStrategy miniMax = new MiniMax(Table.get().gameSetup.getSearchDepth());
-            final MoveStrategy alfaBeta = new AlfaBeta(Table.get().gameSetup.getSearchDepth());
-            final MoveStrategy algUpdate = new AlgUpdate(Table.get().gameSetup.getSearchDepth(),
-                    Table.get().getChessBoard().currentPlayer().getAlliance().isWhite() ?
-                    Table.get().getLastWhiteMove() : Table.get().getLastBlackMove());
             final MoveStrategy transmissionUpdate = new TransmissionUpdate(Table.get().getOldBoard());
-            final Move bestMove = algUpdate.execute(Table.get().getChessBoard());
+            final IterativeDeepening iterativeDeepening = Table.get().getComputerSearch();
+            iterativeDeepening.setRootMoveOrdering(new TieBreakRootMoveOrdering(
+                    Table.get().getChessBoard().currentPlayer().getAlliance().isWhite() ?
+                    Table.get().getLastWhiteMove() : Table.get().getLastBlackMove()));
+            final Move bestMove = iterativeDeepening.execute(Table.get().getChessBoard());
+            if (Table.get().getChessBoard().currentPlayer().getAlliance().isWhite()) {
+                Table.get().setLastWhiteMove(bestMove);
+            } else {
+                Table.get().setLastBlackMove(bestMove);
+            }
 
             return bestMove;
         }
@@ -271,6 +298,10 @@ public class Table extends Observable {
         public void done() {
             try {
                 final Move bestMove = get();
+                if (bestMove == null) {
+                    //no legal move, the game is over
+                    return;
+                }
 
                 Table.get().updateComputerMove(bestMove);
                 Table.get().updateChessBoard(Table.get().getChessBoard().currentPlayer().makeMove(bestMove).getTransitionBoard());
@@ -421,26 +452,22 @@ public class Table extends Observable {
         }
 
         private void highlightLegals(final Board board) {
-            for (final Move move : piecesLegalMoves(board)) {
-                MoveTransition transition = board.currentPlayer().makeMove(move);
-                if (!transition.getMoveStatus().isDone()) {
-                    continue;
-                }
-                if (move.getDestinationCoordinate() == this.tileId) {
-                    try {
-                        add(new JLabel(new ImageIcon(ImageIO.read(new File("art/misc/legals.png")))));
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
+            final Move move = pieceLegalMoveToTile(board);
+            if (move == null || !board.currentPlayer().makeMove(move).getMoveStatus().isDone()) {
+                return;
+            }
+            try {
+                add(new JLabel(new ImageIcon(ImageIO.read(new File("art/misc/legals.png")))));
+            } catch (Exception e) {
+                e.printStackTrace();
             }
         }
 
-        private Collection<Move> piecesLegalMoves(final Board board) {
+        private Move pieceLegalMoveToTile(final Board board) {
             if (humanMovedPiece != null && humanMovedPiece.getPieceAlliance() == board.currentPlayer().getAlliance()) {
-                return humanMovedPiece.calculateLegalMoves(board);
+                return board.currentPlayer().getMoveIndex().getMove(humanMovedPiece.getPiecePosition(), this.tileId);
             }
-            return Collections.emptyList();
+            return null;
         }
 
         private void assignTileColor() {